@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.benchmark;
+
+import java.util.Random;
+
+/**
+ * Corpus contains expressions and generated input texts for benchmarks.
+ *
+ * <p>Expressions are taken from LPGTest. Only expressions having the same
+ * meaning in java.util.regex are included.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public final class Corpus
+{
+    public static final String[] EXPRESSIONS = {
+        "a+",
+        "[acf]{2,4}",
+        "[c-fl-n]+",
+        "if|while|[a-z][a-z0-9]*",
+        "[a-z&&[^bc]]",
+        "\\d",
+        "\\w",
+        "\\p{Lower}",
+        "\\p{Punct}",
+        "\\p{javaMirrored}",
+        "\\p{InLatin-1 Supplement}",
+        "\\p{Nd}",
+        "[ \\t]+",
+        "aaabc|qqqqwe",
+        "(abc)+",
+        "[a-z]+",
+        "/\\*.*\\*/",
+        "[01]{6,966}",
+        "((a|b)c){2,4}",
+        "(ab)(c(d)?)*e"
+    };
+    /**
+     * Character sets of generated texts.
+     */
+    public enum Alphabet
+    {
+        /**
+         * Printable US-ASCII
+         */
+        ASCII(0x20, 0x7f),
+        /**
+         * Printable ISO-8859-1
+         */
+        LATIN1(0xa0, 0x100),
+        /**
+         * CJK Unified Ideographs
+         */
+        CJK(0x4e00, 0xa000);
+        
+        private final int from;
+        private final int to;
+
+        private Alphabet(int from, int to)
+        {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    private Corpus()
+    {
+    }
+    /**
+     * Returns text of length chars. Every 4th char is from ASCII and others
+     * from alphabet. Same arguments return the same text.
+     * @param alphabet
+     * @param length
+     * @return
+     */
+    public static String text(Alphabet alphabet, int length)
+    {
+        Random random = new Random(length);
+        StringBuilder sb = new StringBuilder(length);
+        for (int ii=0;ii<length;ii++)
+        {
+            Alphabet a = (ii % 4) == 0 ? Alphabet.ASCII : alphabet;
+            sb.append((char)(a.from+random.nextInt(a.to-a.from)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vesalainen.regex.ext.PrefilteredRegex;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.SyntaxErrorException;
+import org.vesalainen.regex.benchmark.Corpus.Alphabet;
+
+/**
+ * Compares literal expressions compiled to generated Regex classes with
+ * PrefilteredRegex literals that generate no class. Measures compile time,
+ * isMatch and find throughput and footprint. Every compile uses a new
+ * keyword so nothing is reused. Footprint is reported as loaded classes per
+ * compile and with GC profiler as allocated bytes per compile.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LiteralBenchmark
+{
+    private static final ClassLoadingMXBean CLASS_LOADING = ManagementFactory.getClassLoadingMXBean();
+    @Param({"1024", "65536"})
+    public int size;
+    private String keyword;
+    private String text;
+    private Regex regex;
+    private PrefilteredRegex literal;
+    private int counter;
+    /**
+     * Number of classes loaded by compiles.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Classes
+    {
+        public long loadedClasses;
+    }
+    
+    @Setup
+    public void setup() throws IOException, SyntaxErrorException
+    {
+        keyword = "$GPRMC";
+        text = Corpus.text(Alphabet.ASCII, size)+keyword;
+        regex = Regex.compile("\\$GPRMC");
+        literal = PrefilteredRegex.compile("\\$GPRMC");
+    }
+    @Benchmark
+    public Regex compileRegex(Classes classes) throws IOException, SyntaxErrorException
+    {
+        long loaded = CLASS_LOADING.getTotalLoadedClassCount();
+        Regex r = Regex.compile("keyword"+counter++);
+        classes.loadedClasses += CLASS_LOADING.getTotalLoadedClassCount()-loaded;
+        return r;
+    }
+    @Benchmark
+    public PrefilteredRegex compileLiteral(Classes classes) throws IOException, SyntaxErrorException
+    {
+        long loaded = CLASS_LOADING.getTotalLoadedClassCount();
+        PrefilteredRegex pr = PrefilteredRegex.compile("keyword"+counter++);
+        classes.loadedClasses += CLASS_LOADING.getTotalLoadedClassCount()-loaded;
+        return pr;
+    }
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean regexIsMatch()
+    {
+        return regex.isMatch(keyword);
+    }
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean literalIsMatch()
+    {
+        return literal.isMatch(keyword);
+    }
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public String regexFind()
+    {
+        return regex.find(text);
+    }
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public String literalFind()
+    {
+        return literal.find(text);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.SyntaxErrorException;
+import org.vesalainen.regex.ext.WildcardTrie;
+import org.vesalainen.regex.benchmark.Corpus.Alphabet;
+
+/**
+ * Measures matching of long comments and quoted strings where automaton
+ * stays in one self looping state. WildcardTrie scans such spans to the
+ * next exit char.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoopBenchmark
+{
+    /**
+     * Spans with expression and equivalent wildcard pattern.
+     */
+    public enum Span
+    {
+        QUOTED("\"", "\"", "\"[^\"]*\"", "\"*\""),
+        C_COMMENT("/*", "*/", "/\\*[^\\*]*\\*+([^\\*/][^\\*]*\\*+)*/", "/?*?/"),
+        LINE_COMMENT("--", "\n", "\\-\\-[^\n]*\n", "--*\n");
+        
+        private final String start;
+        private final String end;
+        private final String expression;
+        private final String wildcard;
+
+        private Span(String start, String end, String expression, String wildcard)
+        {
+            this.start = start;
+            this.end = end;
+            this.expression = expression;
+            this.wildcard = wildcard;
+        }
+    }
+    @Param({"QUOTED", "C_COMMENT", "LINE_COMMENT"})
+    public Span span;
+    @Param({"64", "4096", "262144"})
+    public int size;
+    private String text;
+    private StringBuilder builder;
+    private Regex regex;
+    private Pattern pattern;
+    private WildcardTrie<Span> trie;
+    
+    @Setup
+    public void setup() throws IOException, SyntaxErrorException
+    {
+        String body = Corpus.text(Alphabet.ASCII, size)
+                .replace('"', ' ')
+                .replace('*', ' ');
+        text = span.start+body+span.end;
+        builder = new StringBuilder(text);
+        regex = Regex.compile(span.expression);
+        pattern = Pattern.compile(span.expression);
+        trie = new WildcardTrie<>();
+        trie.addExpression(span.wildcard, span);
+        trie.compile();
+    }
+    @Benchmark
+    public boolean lpgIsMatch()
+    {
+        return regex.isMatch(text);
+    }
+    @Benchmark
+    public boolean jdkIsMatch()
+    {
+        return pattern.matcher(text).matches();
+    }
+    @Benchmark
+    public List<Span> wildcardMatch()
+    {
+        return trie.match(text);
+    }
+    @Benchmark
+    public List<Span> wildcardMatchCharSequence()
+    {
+        return trie.match(builder);
+    }
+}
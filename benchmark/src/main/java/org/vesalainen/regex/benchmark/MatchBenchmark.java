@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.SyntaxErrorException;
+import org.vesalainen.regex.benchmark.Corpus.Alphabet;
+
+/**
+ * Measures isMatch, find, replace and split throughput of each corpus
+ * expression against java.util.regex.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchBenchmark
+{
+    @Param({"0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16", "17", "18", "19"})
+    public int index;
+    @Param({"ASCII", "LATIN1", "CJK"})
+    public Alphabet alphabet;
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+    private String text;
+    private Regex regex;
+    private Pattern pattern;
+    
+    @Setup
+    public void setup() throws IOException, SyntaxErrorException
+    {
+        String expression = Corpus.EXPRESSIONS[index];
+        text = Corpus.text(alphabet, size);
+        regex = Regex.compile(expression);
+        pattern = Pattern.compile(expression);
+    }
+    @Benchmark
+    public boolean lpgIsMatch()
+    {
+        return regex.isMatch(text);
+    }
+    @Benchmark
+    public boolean jdkIsMatch()
+    {
+        return pattern.matcher(text).matches();
+    }
+    @Benchmark
+    public String lpgFind()
+    {
+        return regex.find(text);
+    }
+    @Benchmark
+    public String jdkFind()
+    {
+        Matcher matcher = pattern.matcher(text);
+        return matcher.find() ? matcher.group() : null;
+    }
+    @Benchmark
+    public String lpgReplace()
+    {
+        return regex.replace(text, "X");
+    }
+    @Benchmark
+    public String jdkReplace()
+    {
+        return pattern.matcher(text).replaceAll("X");
+    }
+    @Benchmark
+    public String[] lpgSplit()
+    {
+        return regex.split(text, 0);
+    }
+    @Benchmark
+    public String[] jdkSplit()
+    {
+        return pattern.split(text);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vesalainen.regex.CharRange;
+import org.vesalainen.regex.RangeSet;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.SyntaxErrorException;
+
+/**
+ * Measures compiling of expressions using unicode classes and compares
+ * building \p{L} RangeSet one char at a time to building it from shared
+ * interval table.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnicodeBenchmark
+{
+    private static final String[] EXPRESSIONS = {
+        "\\p{L}+",
+        "\\p{Lu}\\p{Ll}*",
+        "\\p{InGreek}+\\p{javaWhitespace}\\p{javaLowerCase}",
+        "[\\p{javaMirrored}\\p{L}]+"
+    };
+    private int[] table;
+    
+    @Setup
+    public void setup()
+    {
+        int[] t = new int[64];
+        int length = 0;
+        int cc = 0;
+        while (cc <= Character.MAX_VALUE)
+        {
+            if (Character.isLetter(cc))
+            {
+                int start = cc;
+                while (cc <= Character.MAX_VALUE && Character.isLetter(cc))
+                {
+                    cc++;
+                }
+                if (length == t.length)
+                {
+                    t = Arrays.copyOf(t, 2*length);
+                }
+                t[length++] = start;
+                t[length++] = cc;
+            }
+            cc++;
+        }
+        table = Arrays.copyOf(t, length);
+    }
+    /**
+     * Compiles all expressions. Tables are shared after the first call.
+     * @return
+     * @throws IOException
+     * @throws SyntaxErrorException
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Regex[] compile() throws IOException, SyntaxErrorException
+    {
+        Regex[] regexes = new Regex[EXPRESSIONS.length];
+        for (int ii=0;ii<regexes.length;ii++)
+        {
+            regexes[ii] = Regex.compile(EXPRESSIONS[ii]);
+        }
+        return regexes;
+    }
+    /**
+     * RangeSet of \p{L} as it was built before interval tables.
+     * @return
+     */
+    @Benchmark
+    public RangeSet perChar()
+    {
+        RangeSet rs = new RangeSet();
+        for (int ii=0;ii<Character.MAX_VALUE;ii++)
+        {
+            char cc = (char) ii;
+            if (Character.isLetter(cc))
+            {
+                rs.add(new CharRange(cc));
+            }
+        }
+        return rs;
+    }
+    /**
+     * RangeSet of \p{L} from interval table.
+     * @return
+     */
+    @Benchmark
+    public RangeSet intervals()
+    {
+        RangeSet rs = new RangeSet();
+        for (int ii=0;ii<table.length;ii+=2)
+        {
+            rs.add(table[ii], table[ii+1]);
+        }
+        return rs;
+    }
+}
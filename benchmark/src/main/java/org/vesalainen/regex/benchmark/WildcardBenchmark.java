@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vesalainen.regex.ext.WildcardTrie;
+
+/**
+ * Measures WildcardTrie compile time and lookup time with 10 - 100000
+ * patterns. Every 10th pattern ends with '*' and every 10th contains '?'.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WildcardBenchmark
+{
+    private static final int IDENTIFIERS = 1024;
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int patterns;
+    private String[] expressions;
+    private String[] identifiers;
+    private WildcardTrie<Integer> trie;
+    private int index;
+    
+    @Setup
+    public void setup()
+    {
+        Random random = new Random(patterns);
+        expressions = new String[patterns];
+        for (int ii=0;ii<patterns;ii++)
+        {
+            String device = "dev/"+random.nextInt(patterns)+"/";
+            switch (ii % 10)
+            {
+                case 0:
+                    expressions[ii] = device+"*";
+                    break;
+                case 1:
+                    expressions[ii] = device+"t??p";
+                    break;
+                default:
+                    expressions[ii] = device+"temp"+random.nextInt(10);
+                    break;
+            }
+        }
+        identifiers = new String[IDENTIFIERS];
+        for (int ii=0;ii<IDENTIFIERS;ii++)
+        {
+            identifiers[ii] = "dev/"+random.nextInt(patterns)+"/temp"+random.nextInt(10);
+        }
+        trie = compile();
+    }
+    private WildcardTrie<Integer> compile()
+    {
+        WildcardTrie<Integer> wt = new WildcardTrie<>();
+        for (int ii=0;ii<expressions.length;ii++)
+        {
+            wt.addExpression(expressions[ii], ii);
+        }
+        wt.compile();
+        return wt;
+    }
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public WildcardTrie<Integer> compileTrie()
+    {
+        return compile();
+    }
+    @Benchmark
+    public List<Integer> match()
+    {
+        index = (index+1) % IDENTIFIERS;
+        return trie.match(identifiers[index]);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.nio.ByteBuffer;
+
+/**
+ * ByteBufferCharSequence is a CharSequence view of bytes. Each byte is one
+ * ISO-8859-1 char.
+ *
+ * <p>Regex can match bytes through this view without decoding or copying.
+ * Char positions are byte positions. Buffer can be heap, direct or mapped
+ * buffer. View is exact for ISO-8859-1 and US-ASCII. UTF-8 input can be
+ * viewed when isAscii returns true.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class ByteBufferCharSequence implements CharSequence
+{
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+    /**
+     * Creates view of bytes.
+     * @param bytes
+     */
+    public ByteBufferCharSequence(byte[] bytes)
+    {
+        this(ByteBuffer.wrap(bytes));
+    }
+    /**
+     * Creates view of buffers remaining bytes. Changing buffers position or
+     * limit doesn't change the view.
+     * @param buffer
+     */
+    public ByteBufferCharSequence(ByteBuffer buffer)
+    {
+        this(buffer, buffer.position(), buffer.remaining());
+    }
+    private ByteBufferCharSequence(ByteBuffer buffer, int offset, int length)
+    {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+    /**
+     * Returns true if buffers remaining bytes are all US-ASCII. Then UTF-8
+     * bytes are the same as chars.
+     * @param buffer
+     * @return
+     */
+    public static boolean isAscii(ByteBuffer buffer)
+    {
+        int limit = buffer.limit();
+        for (int ii=buffer.position();ii<limit;ii++)
+        {
+            if (buffer.get(ii) < 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int length()
+    {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index)
+    {
+        if (index < 0 || index >= length)
+        {
+            throw new IndexOutOfBoundsException(index+" not in [0.."+length+")");
+        }
+        return (char) (buffer.get(offset+index) & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end)
+    {
+        if (start < 0 || end > length || start > end)
+        {
+            throw new IndexOutOfBoundsException("["+start+".."+end+") not in [0.."+length+")");
+        }
+        return new ByteBufferCharSequence(buffer, offset+start, end-start);
+    }
+
+    @Override
+    public String toString()
+    {
+        char[] chars = new char[length];
+        for (int ii=0;ii<length;ii++)
+        {
+            chars[ii] = (char) (buffer.get(offset+ii) & 0xff);
+        }
+        return new String(chars);
+    }
+    
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.vesalainen.regex.Regex.Option;
+
+/**
+ * EnumPrefixTrie finds enum constant by prefix of its name. E.g. "Wed"
+ * finds WEDNESDAY.
+ *
+ * <p>Names are compiled to a trie stored in arrays. Lookups from slices of
+ * CharSequence or byte array don't allocate. Bytes are ISO-8859-1 chars.
+ * Prefix equal to a whole name finds that constant even if it is a prefix
+ * of other names.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ * @param <E>
+ * @see org.vesalainen.regex.EnumPrefixFinder
+ */
+public class EnumPrefixTrie<E extends Enum<E>>
+{
+    /**
+     * No constant has the prefix.
+     */
+    public static final int NOT_FOUND = -1;
+    /**
+     * More than one constant has the prefix.
+     */
+    public static final int AMBIGUOUS = -2;
+    private final List<E> constants;
+    private final boolean ignoreCase;
+    private final char[][] chars;
+    private final int[][] children;
+    private final int[] exact;
+    private final int[] unique;
+    /**
+     * Creates EnumPrefixTrie for all constants of type.
+     * @param type
+     * @param options CASE_INSENSITIVE is supported.
+     */
+    public EnumPrefixTrie(Class<E> type, Option... options)
+    {
+        this(Option.supports(options, Option.CASE_INSENSITIVE), type.getEnumConstants());
+    }
+    /**
+     * Creates EnumPrefixTrie for given constants. Index methods return
+     * index to constants.
+     * @param ignoreCase
+     * @param constants
+     */
+    @SafeVarargs
+    public EnumPrefixTrie(boolean ignoreCase, E... constants)
+    {
+        this.constants = new ArrayList<>(constants.length);
+        this.ignoreCase = ignoreCase;
+        List<Node> nodes = new ArrayList<>();
+        Node root = new Node();
+        nodes.add(root);
+        for (int ii=0;ii<constants.length;ii++)
+        {
+            this.constants.add(constants[ii]);
+            String name = constants[ii].name();
+            Node node = root;
+            node.add(ii);
+            for (int jj=0;jj<name.length();jj++)
+            {
+                char cc = fold(name.charAt(jj));
+                Node next = node.children.get(cc);
+                if (next == null)
+                {
+                    next = new Node();
+                    next.index = nodes.size();
+                    nodes.add(next);
+                    node.children.put(cc, next);
+                }
+                node = next;
+                node.add(ii);
+            }
+            if (node.exact == NOT_FOUND)
+            {
+                node.exact = ii;
+            }
+        }
+        int size = nodes.size();
+        chars = new char[size][];
+        children = new int[size][];
+        exact = new int[size];
+        unique = new int[size];
+        for (Node node : nodes)
+        {
+            int idx = node.index;
+            int count = node.children.size();
+            chars[idx] = new char[count];
+            children[idx] = new int[count];
+            int ii = 0;
+            for (Map.Entry<Character,Node> e : node.children.entrySet())
+            {
+                chars[idx][ii] = e.getKey();
+                children[idx][ii] = e.getValue().index;
+                ii++;
+            }
+            exact[idx] = node.exact;
+            unique[idx] = node.unique;
+        }
+    }
+    /**
+     * Returns constant having prefix or null if not found or ambiguous.
+     * @param text
+     * @return
+     */
+    public E find(CharSequence text)
+    {
+        return find(text, 0, text.length());
+    }
+    /**
+     * Returns constant having prefix text[start..end) or null if not found
+     * or ambiguous.
+     * @param text
+     * @param start
+     * @param end
+     * @return
+     */
+    public E find(CharSequence text, int start, int end)
+    {
+        return constant(index(text, start, end));
+    }
+    /**
+     * Returns constant having prefix buf[off..off+len) or null if not found
+     * or ambiguous.
+     * @param buf
+     * @param off
+     * @param len
+     * @return
+     */
+    public E find(byte[] buf, int off, int len)
+    {
+        return constant(index(buf, off, len));
+    }
+    /**
+     * Returns index of constant having prefix text[start..end), NOT_FOUND or
+     * AMBIGUOUS.
+     * @param text
+     * @param start
+     * @param end
+     * @return
+     */
+    public int index(CharSequence text, int start, int end)
+    {
+        int node = 0;
+        for (int ii=start;ii<end && node != NOT_FOUND;ii++)
+        {
+            node = child(node, text.charAt(ii));
+        }
+        return result(node);
+    }
+    /**
+     * Returns index of constant having prefix buf[off..off+len), NOT_FOUND
+     * or AMBIGUOUS.
+     * @param buf
+     * @param off
+     * @param len
+     * @return
+     */
+    public int index(byte[] buf, int off, int len)
+    {
+        int node = 0;
+        int end = off+len;
+        for (int ii=off;ii<end && node != NOT_FOUND;ii++)
+        {
+            node = child(node, (char)(buf[ii] & 0xff));
+        }
+        return result(node);
+    }
+    /**
+     * Returns constant of index returned by index method or null.
+     * @param index
+     * @return
+     */
+    public E constant(int index)
+    {
+        return index >= 0 ? constants.get(index) : null;
+    }
+    private int child(int node, char cc)
+    {
+        int idx = Arrays.binarySearch(chars[node], fold(cc));
+        return idx >= 0 ? children[node][idx] : NOT_FOUND;
+    }
+    private int result(int node)
+    {
+        if (node == NOT_FOUND)
+        {
+            return NOT_FOUND;
+        }
+        if (exact[node] != NOT_FOUND)
+        {
+            return exact[node];
+        }
+        return unique[node];
+    }
+    private char fold(char cc)
+    {
+        return ignoreCase ? Character.toLowerCase(Character.toUpperCase(cc)) : cc;
+    }
+    private static class Node
+    {
+        private final Map<Character,Node> children = new TreeMap<>();
+        private int index;
+        private int exact = NOT_FOUND;
+        private int unique = NOT_FOUND;
+
+        private void add(int index)
+        {
+            if (unique == NOT_FOUND)
+            {
+                unique = index;
+            }
+            else
+            {
+                unique = AMBIGUOUS;
+            }
+        }
+    }
+}
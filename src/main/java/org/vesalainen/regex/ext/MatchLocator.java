@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.Regex.Option;
+import org.vesalainen.regex.impl.RegexGrammar;
+
+/**
+ * MatchLocator finds successive matches of Regex with find and locates
+ * them in text.
+ *
+ * <p>Regex.find returns only the matched string. Without boundary
+ * matchers the first occurrence of the leftmost match string is the match.
+ * Text should be a CharBuffer view so that searching the rest of text
+ * doesn't copy it.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+final class MatchLocator
+{
+    private final Regex regex;
+    private final CharSequence text;
+    private int start;
+    private String match;
+    /**
+     * Creates MatchLocator
+     * @param regex
+     * @param text
+     */
+    MatchLocator(Regex regex, CharSequence text)
+    {
+        this.regex = regex;
+        this.text = text;
+    }
+    /**
+     * Finds next match from text between from and to.
+     * @param from Start of search
+     * @param to End of searched text
+     * @param end Match must start before end
+     * @return true if match was found
+     */
+    boolean find(int from, int to, int end)
+    {
+        if (from >= end)
+        {
+            return false;
+        }
+        String m = regex.find(text.subSequence(from, to));
+        if (m == null)
+        {
+            return false;
+        }
+        int idx = indexOf(text, m, from);
+        if (idx >= end)
+        {
+            return false;
+        }
+        start = idx;
+        match = m;
+        return true;
+    }
+    /**
+     * Returns start of found match.
+     * @return
+     */
+    int start()
+    {
+        return start;
+    }
+    /**
+     * Returns end of found match.
+     * @return
+     */
+    int end()
+    {
+        return start+match.length();
+    }
+    /**
+     * Returns found match.
+     * @return
+     */
+    String match()
+    {
+        return match;
+    }
+    /**
+     * Throws IllegalArgumentException if regex matches can't be located.
+     * @param regex
+     * @param options
+     */
+    static void checkLocatable(Regex regex, Option... options)
+    {
+        if (regex.getMinLength() == 0)
+        {
+            throw new IllegalArgumentException(regex.getExpression()+" matches empty string");
+        }
+        if (RegexGrammar.analyze(regex.getExpression(), options).hasBoundary())
+        {
+            throw new IllegalArgumentException(regex.getExpression()+" contains boundary matchers");
+        }
+    }
+    /**
+     * Throws IllegalArgumentException if regex matches can't be found in
+     * overlapping windows.
+     * @param regex
+     * @param options
+     */
+    static void checkWindowed(Regex regex, Option... options)
+    {
+        if (regex.getMaxLength() == Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException(regex.getExpression()+" max length is not finite");
+        }
+        checkLocatable(regex, options);
+    }
+    /**
+     * Returns start of match found in text starting at from.
+     * @param text
+     * @param match
+     * @param from
+     * @return
+     */
+    static int indexOf(CharSequence text, String match, int from)
+    {
+        int len = match.length();
+        if (len == 0)
+        {
+            return from;
+        }
+        int end = text.length() - len;
+        char first = match.charAt(0);
+        for (int ii=from;ii<=end;ii++)
+        {
+            if (text.charAt(ii) == first)
+            {
+                int jj=1;
+                while (jj < len && text.charAt(ii+jj) == match.charAt(jj))
+                {
+                    jj++;
+                }
+                if (jj == len)
+                {
+                    return ii;
+                }
+            }
+        }
+        throw new IllegalStateException(match+" not found");
+    }
+}
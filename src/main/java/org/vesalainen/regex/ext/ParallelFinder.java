@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.ObjIntConsumer;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.Regex.Option;
+
+/**
+ * ParallelFinder finds all non overlapping matches of Regex in large text
+ * using ForkJoinPool.
+ *
+ * <p>Text is split to chunks which are scanned in parallel. Chunk scan
+ * reads getMaxLength chars past chunk end so that matches starting in chunk
+ * are found whole. Chunk scan assumes that no match from previous chunk
+ * overlaps it. When that assumption fails, chunk is rescanned from the end of
+ * previous match until rescan finds the same match as speculative scan.
+ * Reported matches are the same as in sequential scan.
+ *
+ * <p>Chunks are reported in order as soon as all chunks before them are
+ * reported. At most two chunks per pool thread are scanned ahead, so
+ * memory used for pending matches depends on chunk size and parallelism,
+ * not on text length. Text is searched through CharBuffer views, so it is
+ * not copied.
+ *
+ * <p>Given Regex is used only by the thread calling find. Each pool thread
+ * compiles its own Regex from the same expression and options on first
+ * use, so no Regex instance is used by two threads at the same time.
+ * Compiling is slow compared to scanning, so ParallelFinder instance should
+ * be reused.
+ *
+ * <p>Expression must have finite max length, non zero min length and no
+ * boundary matchers.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ * @see org.vesalainen.regex.ext.StreamFinder
+ */
+public class ParallelFinder
+{
+    private final Regex regex;
+    private final ThreadLocal<Regex> workerRegex;
+    private final int chunkSize;
+    private final int overlap;
+    private final ForkJoinPool pool;
+    /**
+     * Creates ParallelFinder using common pool.
+     * @param regex
+     * @param chunkSize Number of chars scanned by one task.
+     * @param options Options used in compiling regex
+     */
+    public ParallelFinder(Regex regex, int chunkSize, Option... options)
+    {
+        this(regex, chunkSize, ForkJoinPool.commonPool(), options);
+    }
+    /**
+     * Creates ParallelFinder
+     * @param regex
+     * @param chunkSize Number of chars scanned by one task.
+     * @param pool
+     * @param options Options used in compiling regex
+     */
+    public ParallelFinder(Regex regex, int chunkSize, ForkJoinPool pool, Option... options)
+    {
+        MatchLocator.checkWindowed(regex, options);
+        if (chunkSize <= 0)
+        {
+            throw new IllegalArgumentException("chunkSize "+chunkSize+" <= 0");
+        }
+        this.regex = regex;
+        this.workerRegex = ThreadLocal.withInitial(()->compile(regex.getExpression(), options));
+        this.chunkSize = chunkSize;
+        this.overlap = regex.getMaxLength();
+        this.pool = pool;
+    }
+    /**
+     * Finds all matches. Consumer is called in text order from calling
+     * thread while later chunks are scanned.
+     * @param text
+     * @param consumer Called with matched string and its position.
+     * @return Number of matches
+     */
+    public int find(CharSequence text, ObjIntConsumer<String> consumer)
+    {
+        int length = text.length();
+        int count = (int) ((length+(long)chunkSize-1)/chunkSize);
+        int ahead = 2*pool.getParallelism();
+        Deque<ForkJoinTask<Chunk>> tasks = new ArrayDeque<>();
+        MatchLocator locator = new MatchLocator(regex, CharBuffer.wrap(text));
+        int submitted = 0;
+        int matches = 0;
+        int lastEnd = 0;
+        try
+        {
+            for (int ii=0;ii<count;ii++)
+            {
+                while (submitted < count && submitted < ii+ahead)
+                {
+                    int start = submitted*chunkSize;
+                    int end = Math.min(length, start+chunkSize);
+                    tasks.add(pool.submit(ForkJoinTask.adapt(()->scan(text, start, end))));
+                    submitted++;
+                }
+                Chunk chunk = tasks.removeFirst().join();
+                int pos = chunk.start;
+                int index = 0;
+                if (lastEnd > chunk.start)
+                {
+                    pos = lastEnd;
+                    int windowEnd = Math.min(length, chunk.end+overlap);
+                    while (true)
+                    {
+                        if (!locator.find(pos, windowEnd, chunk.end))
+                        {
+                            pos = chunk.end;
+                            break;
+                        }
+                        int idx = locator.start();
+                        String match = locator.match();
+                        while (index < chunk.size && chunk.starts[index] < idx)
+                        {
+                            index++;
+                        }
+                        if (
+                                index < chunk.size &&
+                                chunk.starts[index] == idx &&
+                                chunk.matches.get(index).equals(match)
+                                )
+                        {
+                            break;  // speculative scan is correct from here
+                        }
+                        matches++;
+                        consumer.accept(match, idx);
+                        pos = locator.end();
+                        lastEnd = pos;
+                    }
+                    while (index < chunk.size && chunk.starts[index] < pos)
+                    {
+                        index++;
+                    }
+                }
+                for (;index<chunk.size;index++)
+                {
+                    String match = chunk.matches.get(index);
+                    matches++;
+                    consumer.accept(match, chunk.starts[index]);
+                    lastEnd = chunk.starts[index] + match.length();
+                }
+            }
+        }
+        finally
+        {
+            for (ForkJoinTask<Chunk> task : tasks)
+            {
+                task.cancel(false);
+            }
+        }
+        return matches;
+    }
+    private Chunk scan(CharSequence text, int start, int end)
+    {
+        Chunk chunk = new Chunk(start, end);
+        MatchLocator locator = new MatchLocator(workerRegex.get(), CharBuffer.wrap(text));
+        int windowEnd = Math.min(text.length(), end+overlap);
+        int pos = start;
+        while (locator.find(pos, windowEnd, end))
+        {
+            chunk.add(locator.start(), locator.match());
+            pos = locator.end();
+        }
+        return chunk;
+    }
+    private static Regex compile(String expression, Option... options)
+    {
+        try
+        {
+            return Regex.compile(expression, options);
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    private static class Chunk
+    {
+        private final int start;
+        private final int end;
+        private int[] starts = new int[16];
+        private final List<String> matches = new ArrayList<>();
+        private int size;
+
+        private Chunk(int start, int end)
+        {
+            this.start = start;
+            this.end = end;
+        }
+        private void add(int pos, String match)
+        {
+            if (size == starts.length)
+            {
+                starts = Arrays.copyOf(starts, 2*size);
+            }
+            starts[size++] = pos;
+            matches.add(match);
+        }
+    }
+}
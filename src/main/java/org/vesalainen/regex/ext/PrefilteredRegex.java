@@ -0,0 +1,643 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.SyntaxErrorException;
+import org.vesalainen.regex.Regex.Option;
+import org.vesalainen.regex.impl.RegexGrammar;
+import org.vesalainen.regex.impl.RegexGrammar.Literal;
+
+/**
+ * PrefilteredRegex runs a literal scan before Regex.
+ *
+ * <p>Literal every match contains is extracted from expression when it is
+ * compiled. isMatch and lookingAt reject texts without it without running
+ * the automaton. find and split skip to the first possible match position
+ * before running the automaton.
+ * <p>Expressions matching only one literal string are matched without
+ * compiling Regex. This avoids class generation for simple keyword patterns.
+ * <p>Case insensitive expressions and expressions using FIXED_ENDER are not
+ * prefiltered. Expressions with boundary matchers are rejected, because
+ * match position can't be located from the matched string.
+ * <p>Methods taking char[] slice return offsets relative to slice. Slices
+ * and match bounds are handled without allocation when expression is
+ * literal or when text is rejected by prefilter. When the automaton runs,
+ * text is wrapped to CharBuffer view, Regex returns the match as String
+ * and match position is located by searching the match from the position
+ * where automaton was started.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ * @see org.vesalainen.regex.impl.RegexGrammar.Literal
+ */
+public class PrefilteredRegex
+{
+    private final String expression;
+    private final Option[] options;
+    private volatile Regex regex;
+    private final String exact;
+    private final Horspool prefix;
+    private final Horspool required;
+    private final int maxDistance;
+    /**
+     * Creates PrefilteredRegex for already compiled regex. Options must be
+     * the same as used in compiling regex.
+     * @param regex
+     * @param options
+     * @throws IllegalArgumentException if expression contains boundary
+     * matchers.
+     */
+    public PrefilteredRegex(Regex regex, Option... options)
+    {
+        this(regex.getExpression(), regex, analyze(regex.getExpression(), options), options);
+    }
+    private PrefilteredRegex(String expression, Regex regex, Literal literal, Option... options)
+    {
+        this.expression = expression;
+        this.options = options;
+        this.regex = regex;
+        if (
+                Option.supports(options, Option.CASE_INSENSITIVE) ||
+                Option.supports(options, Option.FIXED_ENDER)
+                )
+        {
+            this.exact = null;
+            this.prefix = null;
+            this.required = null;
+            this.maxDistance = Integer.MAX_VALUE;
+        }
+        else
+        {
+            this.exact = regex == null ? literal.getExact() : null;
+            this.prefix = literal.getPrefix().isEmpty() ? null : new Horspool(literal.getPrefix());
+            this.required = literal.getRequired().isEmpty() ? null : new Horspool(literal.getRequired());
+            int maxLength = regex != null ? regex.getMaxLength() : Integer.MAX_VALUE;
+            if (maxLength != Integer.MAX_VALUE)
+            {
+                this.maxDistance = maxLength - literal.getRequired().length();
+            }
+            else
+            {
+                this.maxDistance = Integer.MAX_VALUE;
+            }
+        }
+    }
+    /**
+     * Compiles expression and creates PrefilteredRegex for it.
+     *
+     * <p>Expression without options matching only one non empty literal
+     * string is not compiled. It is matched with literal scan only and Regex
+     * is compiled when getRegex is called.
+     * @param expression
+     * @param options
+     * @return
+     * @throws IOException
+     * @throws SyntaxErrorException
+     * @throws IllegalArgumentException if expression contains boundary
+     * matchers.
+     * @see org.vesalainen.regex.Regex#compile(java.lang.String, org.vesalainen.regex.Regex.Option...)
+     */
+    public static PrefilteredRegex compile(String expression, Option... options) throws IOException, SyntaxErrorException
+    {
+        Literal literal = analyze(expression, options);
+        if (
+                literal.getExact() != null &&
+                !literal.getExact().isEmpty() &&
+                options.length == 0
+                )
+        {
+            return new PrefilteredRegex(expression, null, literal, options);
+        }
+        return new PrefilteredRegex(expression, Regex.compile(expression, options), literal, options);
+    }
+    private static Literal analyze(String expression, Option... options)
+    {
+        Literal literal = RegexGrammar.analyze(expression, options);
+        if (literal.hasBoundary())
+        {
+            throw new IllegalArgumentException(expression+" contains boundary matchers");
+        }
+        return literal;
+    }
+    /**
+     * Returns true if whole text matches. Text not starting with prefix or
+     * not containing required literal is rejected without running the
+     * automaton.
+     * @param text
+     * @return
+     */
+    public boolean isMatch(CharSequence text)
+    {
+        if (exact != null)
+        {
+            return exact.contentEquals(text);
+        }
+        if (prefix != null && !prefix.startsWith(text))
+        {
+            return false;
+        }
+        if (required != null && required.indexOf(text, 0) == -1)
+        {
+            return false;
+        }
+        return regex.isMatch(text);
+    }
+    /**
+     * Returns true if whole slice matches.
+     * @param buf
+     * @param off
+     * @param len
+     * @return
+     */
+    public boolean isMatch(char[] buf, int off, int len)
+    {
+        if (exact != null)
+        {
+            return len == exact.length() && required.startsWith(buf, off, len);
+        }
+        if (prefix != null && !prefix.startsWith(buf, off, len))
+        {
+            return false;
+        }
+        if (required != null && required.indexOf(buf, off, len, 0) == -1)
+        {
+            return false;
+        }
+        return regex.isMatch(CharBuffer.wrap(buf, off, len));
+    }
+    /**
+     * Returns match at the start of text or null if not found.
+     * @param text
+     * @return
+     * @see org.vesalainen.regex.Regex#lookingAt(java.lang.CharSequence)
+     */
+    public String lookingAt(CharSequence text)
+    {
+        if (exact != null)
+        {
+            return required.startsWith(text) ? exact : null;
+        }
+        if (prefix != null && !prefix.startsWith(text))
+        {
+            return null;
+        }
+        if (required != null && required.indexOf(text, 0) == -1)
+        {
+            return null;
+        }
+        return regex.lookingAt(text);
+    }
+    /**
+     * Returns end of match at the start of slice relative to slice or -1 if
+     * not found.
+     * @param buf
+     * @param off
+     * @param len
+     * @return
+     */
+    public int lookingAt(char[] buf, int off, int len)
+    {
+        if (exact != null)
+        {
+            return required.startsWith(buf, off, len) ? exact.length() : -1;
+        }
+        if (prefix != null && !prefix.startsWith(buf, off, len))
+        {
+            return -1;
+        }
+        if (required != null && required.indexOf(buf, off, len, 0) == -1)
+        {
+            return -1;
+        }
+        String match = regex.lookingAt(CharBuffer.wrap(buf, off, len));
+        return match != null ? match.length() : -1;
+    }
+    /**
+     * Returns the first match or null if not found.
+     * @param text
+     * @return
+     */
+    public String find(CharSequence text)
+    {
+        int start = start(text, 0);
+        if (start == -1)
+        {
+            return null;
+        }
+        if (exact != null)
+        {
+            return exact;
+        }
+        if (start > 0)
+        {
+            return regex.find(CharBuffer.wrap(text, start, text.length()));
+        }
+        else
+        {
+            return regex.find(text);
+        }
+    }
+    /**
+     * Returns the first match in slice or null if not found.
+     * @param buf
+     * @param off
+     * @param len
+     * @return
+     */
+    public String find(char[] buf, int off, int len)
+    {
+        int start = start(buf, off, len);
+        if (start == -1)
+        {
+            return null;
+        }
+        if (exact != null)
+        {
+            return exact;
+        }
+        return regex.find(CharBuffer.wrap(buf, off+start, len-start));
+    }
+    /**
+     * Finds the first match and stores its start to bounds[0] and end to
+     * bounds[1]. CharBuffer positions are relative to buffers position.
+     * @param text
+     * @param bounds
+     * @return true if found
+     */
+    public boolean find(CharSequence text, int[] bounds)
+    {
+        int start = start(text, 0);
+        if (start == -1)
+        {
+            return false;
+        }
+        if (exact != null)
+        {
+            bounds[0] = start;
+            bounds[1] = start + exact.length();
+            return true;
+        }
+        return locate(CharBuffer.wrap(text), start, bounds);
+    }
+    /**
+     * Finds the first match in slice and stores its start and end relative
+     * to slice to bounds.
+     * @param buf
+     * @param off
+     * @param len
+     * @param bounds
+     * @return true if found
+     * @see #find(java.lang.CharSequence, int[])
+     */
+    public boolean find(char[] buf, int off, int len, int[] bounds)
+    {
+        int start = start(buf, off, len);
+        if (start == -1)
+        {
+            return false;
+        }
+        if (exact != null)
+        {
+            bounds[0] = start;
+            bounds[1] = start + exact.length();
+            return true;
+        }
+        return locate(CharBuffer.wrap(buf, off, len), start, bounds);
+    }
+    private boolean locate(CharBuffer cb, int start, int[] bounds)
+    {
+        MatchLocator locator = new MatchLocator(regex, cb);
+        int length = cb.length();
+        // empty match at the end of text is allowed
+        if (!locator.find(start, length, length+1))
+        {
+            return false;
+        }
+        bounds[0] = locator.start();
+        bounds[1] = locator.end();
+        return true;
+    }
+    /**
+     * Stores start and end pairs of fields around matches to bounds. At most
+     * bounds.length/2 fields are stored. The last one contains rest of text.
+     * Unlike Regex.split trailing empty fields are not removed.
+     * @param text
+     * @param bounds
+     * @return Number of fields
+     * @throws IllegalArgumentException if expression matches empty string.
+     * @see org.vesalainen.regex.ext.StreamEditor#split(java.lang.CharSequence, int[])
+     */
+    public int split(CharSequence text, int[] bounds)
+    {
+        int max = maxFields(bounds);
+        int length = text.length();
+        MatchLocator locator = exact == null ? new MatchLocator(regex, CharBuffer.wrap(text)) : null;
+        int count = 0;
+        int field = 0;
+        while (count < max-1)
+        {
+            int start = start(text, field);
+            if (start == -1)
+            {
+                break;
+            }
+            int end;
+            if (exact != null)
+            {
+                end = start + exact.length();
+            }
+            else
+            {
+                if (!locator.find(start, length, length))
+                {
+                    break;
+                }
+                start = locator.start();
+                end = locator.end();
+            }
+            bounds[2*count] = field;
+            bounds[2*count+1] = start;
+            count++;
+            field = end;
+        }
+        bounds[2*count] = field;
+        bounds[2*count+1] = length;
+        return count+1;
+    }
+    /**
+     * Stores start and end pairs of fields in slice relative to slice to
+     * bounds.
+     * @param buf
+     * @param off
+     * @param len
+     * @param bounds
+     * @return Number of fields
+     * @throws IllegalArgumentException if expression matches empty string.
+     * @see #split(java.lang.CharSequence, int[])
+     */
+    public int split(char[] buf, int off, int len, int[] bounds)
+    {
+        if (exact == null)
+        {
+            return split(CharBuffer.wrap(buf, off, len), bounds);
+        }
+        int max = maxFields(bounds);
+        int count = 0;
+        int field = 0;
+        while (count < max-1)
+        {
+            int start = required.indexOf(buf, off, len, field);
+            if (start == -1)
+            {
+                break;
+            }
+            bounds[2*count] = field;
+            bounds[2*count+1] = start;
+            count++;
+            field = start + exact.length();
+        }
+        bounds[2*count] = field;
+        bounds[2*count+1] = len;
+        return count+1;
+    }
+    private int maxFields(int[] bounds)
+    {
+        if (bounds.length < 2)
+        {
+            throw new IllegalArgumentException("bounds length "+bounds.length+" < 2");
+        }
+        if (exact == null && regex.getMinLength() == 0)
+        {
+            throw new IllegalArgumentException(expression+" matches empty string");
+        }
+        return bounds.length/2;
+    }
+    /**
+     * Returns position where automaton is started or -1 if text can't
+     * match after from. For literal expressions returns position of the
+     * literal.
+     * @param text
+     * @param from
+     * @return
+     */
+    private int start(CharSequence text, int from)
+    {
+        int start = from;
+        if (required != null)
+        {
+            int idx = required.indexOf(text, from);
+            if (idx == -1 || exact != null)
+            {
+                return idx;
+            }
+            if (maxDistance != Integer.MAX_VALUE)
+            {
+                start = Math.max(from, idx - maxDistance);
+            }
+        }
+        if (prefix != null)
+        {
+            start = prefix.indexOf(text, start);
+        }
+        return start;
+    }
+    /**
+     * Returns position in slice where automaton is started or -1.
+     * @param buf
+     * @param off
+     * @param len
+     * @return
+     * @see #start(java.lang.CharSequence, int)
+     */
+    private int start(char[] buf, int off, int len)
+    {
+        int start = 0;
+        if (required != null)
+        {
+            int idx = required.indexOf(buf, off, len, 0);
+            if (idx == -1 || exact != null)
+            {
+                return idx;
+            }
+            if (maxDistance != Integer.MAX_VALUE)
+            {
+                start = Math.max(0, idx - maxDistance);
+            }
+        }
+        if (prefix != null)
+        {
+            start = prefix.indexOf(buf, off, len, start);
+        }
+        return start;
+    }
+    /**
+     * Returns literal every match starts with or null.
+     * @return
+     */
+    public String getPrefix()
+    {
+        return prefix != null ? prefix.literal : null;
+    }
+    /**
+     * Returns literal every match contains or null.
+     * @return
+     */
+    public String getRequired()
+    {
+        return required != null ? required.literal : null;
+    }
+
+    /**
+     * Returns true if expression matches only one literal string and is
+     * matched without compiling Regex.
+     * @return
+     */
+    public boolean isLiteral()
+    {
+        return exact != null;
+    }
+    /**
+     * Returns compiled Regex. Literal expressions are compiled here on first
+     * call.
+     * @return
+     * @throws IOException
+     * @throws SyntaxErrorException
+     */
+    public Regex getRegex() throws IOException, SyntaxErrorException
+    {
+        Regex r = regex;
+        if (r == null)
+        {
+            synchronized(this)
+            {
+                if (regex == null)
+                {
+                    regex = Regex.compile(expression, options);
+                }
+                r = regex;
+            }
+        }
+        return r;
+    }
+    /**
+     * Boyer-Moore-Horspool search of literal.
+     */
+    private static class Horspool
+    {
+        private final String literal;
+        private final int[] shift = new int[256];
+
+        private Horspool(String literal)
+        {
+            this.literal = literal;
+            int len = literal.length();
+            for (int ii=0;ii<shift.length;ii++)
+            {
+                shift[ii] = len;
+            }
+            for (int ii=0;ii<len-1;ii++)
+            {
+                shift[literal.charAt(ii) & 0xff] = len-ii-1;
+            }
+        }
+        private boolean startsWith(CharSequence text)
+        {
+            int len = literal.length();
+            if (text.length() < len)
+            {
+                return false;
+            }
+            for (int ii=0;ii<len;ii++)
+            {
+                if (text.charAt(ii) != literal.charAt(ii))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        private boolean startsWith(char[] buf, int off, int len)
+        {
+            int length = literal.length();
+            if (len < length)
+            {
+                return false;
+            }
+            for (int ii=0;ii<length;ii++)
+            {
+                if (buf[off+ii] != literal.charAt(ii))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        private int indexOf(CharSequence text, int from)
+        {
+            int len = literal.length();
+            int last = len-1;
+            char lastChar = literal.charAt(last);
+            int end = text.length() - len;
+            int pos = from;
+            while (pos <= end)
+            {
+                char cc = text.charAt(pos+last);
+                if (cc == lastChar)
+                {
+                    int ii = last-1;
+                    while (ii >= 0 && text.charAt(pos+ii) == literal.charAt(ii))
+                    {
+                        ii--;
+                    }
+                    if (ii < 0)
+                    {
+                        return pos;
+                    }
+                }
+                pos += shift[cc & 0xff];
+            }
+            return -1;
+        }
+        private int indexOf(char[] buf, int off, int len, int from)
+        {
+            int length = literal.length();
+            int last = length-1;
+            char lastChar = literal.charAt(last);
+            int end = len - length;
+            int pos = from;
+            while (pos <= end)
+            {
+                char cc = buf[off+pos+last];
+                if (cc == lastChar)
+                {
+                    int ii = last-1;
+                    while (ii >= 0 && buf[off+pos+ii] == literal.charAt(ii))
+                    {
+                        ii--;
+                    }
+                    if (ii < 0)
+                    {
+                        return pos;
+                    }
+                }
+                pos += shift[cc & 0xff];
+            }
+            return -1;
+        }
+    }
+}
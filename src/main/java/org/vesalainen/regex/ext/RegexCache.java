@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.SyntaxErrorException;
+import org.vesalainen.regex.Regex.Option;
+
+/**
+ * RegexCache is a size bounded least recently used cache of compiled Regex
+ * instances keyed by expression and options.
+ *
+ * <p>Compiling creates a new class for every Regex. Bounding the number of
+ * cached instances bounds the number of classes kept alive by cache.
+ *
+ * <p>Cache can be used per call with get method of own or default instance.
+ * Static compile method uses default cache only when it is enabled. Default
+ * cache is enabled with system property org.vesalainen.regex.cache=true or
+ * with setEnabled. Default cache size is 256 or
+ * org.vesalainen.regex.cacheSize.
+ *
+ * <p>Concurrent requests of missing Regex compile it only once. Others wait
+ * for the result.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class RegexCache
+{
+    private static final RegexCache DEFAULT = new RegexCache(Integer.getInteger("org.vesalainen.regex.cacheSize", 256));
+    private static volatile boolean enabled = Boolean.getBoolean("org.vesalainen.regex.cache");
+    private final int maxSize;
+    private final Map<Key,FutureTask<Regex>> map;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    /**
+     * Creates RegexCache
+     * @param maxSize Maximum number of cached Regex instances.
+     */
+    public RegexCache(int maxSize)
+    {
+        if (maxSize <= 0)
+        {
+            throw new IllegalArgumentException("maxSize "+maxSize+" <= 0");
+        }
+        this.maxSize = maxSize;
+        this.map = new LinkedHashMap<Key,FutureTask<Regex>>(16, 0.75F, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, FutureTask<Regex>> eldest)
+            {
+                if (size() > RegexCache.this.maxSize)
+                {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    /**
+     * Returns default cache instance.
+     * @return
+     */
+    public static RegexCache getDefault()
+    {
+        return DEFAULT;
+    }
+    /**
+     * Returns true if static compile method uses default cache.
+     * @return
+     */
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+    /**
+     * Sets static compile method to use default cache.
+     * @param enabled
+     */
+    public static void setEnabled(boolean enabled)
+    {
+        RegexCache.enabled = enabled;
+    }
+    /**
+     * Returns Regex from default cache if it is enabled. Otherwise compiles
+     * new Regex.
+     * @param expression
+     * @param options
+     * @return
+     * @throws IOException
+     * @throws SyntaxErrorException
+     * @see org.vesalainen.regex.Regex#compile(java.lang.String, org.vesalainen.regex.Regex.Option...)
+     */
+    public static Regex compile(String expression, Option... options) throws IOException, SyntaxErrorException
+    {
+        if (enabled)
+        {
+            return DEFAULT.get(expression, options);
+        }
+        return Regex.compile(expression, options);
+    }
+    /**
+     * Returns cached Regex or compiles and caches a new one. Returned
+     * Regex is shared with other callers. If another thread is compiling
+     * the same Regex, waits for it. Failed compilation is not cached.
+     * @param expression
+     * @param options
+     * @return
+     * @throws IOException
+     * @throws SyntaxErrorException
+     */
+    public Regex get(String expression, Option... options) throws IOException, SyntaxErrorException
+    {
+        Key key = new Key(expression, options);
+        FutureTask<Regex> task;
+        boolean compile = false;
+        synchronized(map)
+        {
+            task = map.get(key);
+            if (task == null)
+            {
+                task = new FutureTask<>(()->Regex.compile(expression, options));
+                map.put(key, task);
+                compile = true;
+            }
+        }
+        if (compile)
+        {
+            misses.incrementAndGet();
+            task.run();
+        }
+        else
+        {
+            hits.incrementAndGet();
+        }
+        try
+        {
+            return task.get();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(expression);
+        }
+        catch (ExecutionException ex)
+        {
+            synchronized(map)
+            {
+                map.remove(key, task);
+            }
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            if (cause instanceof SyntaxErrorException)
+            {
+                throw (SyntaxErrorException) cause;
+            }
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+    /**
+     * Removes all entries. Counters are not reset.
+     */
+    public void clear()
+    {
+        synchronized(map)
+        {
+            map.clear();
+        }
+    }
+
+    public int size()
+    {
+        synchronized(map)
+        {
+            return map.size();
+        }
+    }
+
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    public long getEvictions()
+    {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RegexCache{" + "size=" + size() + ", maxSize=" + maxSize + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + '}';
+    }
+    
+    private static class Key
+    {
+        private final String expression;
+        private final Set<Option> options = EnumSet.noneOf(Option.class);
+
+        public Key(String expression, Option... options)
+        {
+            this.expression = Objects.requireNonNull(expression);
+            this.options.addAll(Arrays.asList(options));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int hash = 7;
+            hash = 59 * hash + Objects.hashCode(this.expression);
+            hash = 59 * hash + Objects.hashCode(this.options);
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (obj == null)
+            {
+                return false;
+            }
+            if (getClass() != obj.getClass())
+            {
+                return false;
+            }
+            final Key other = (Key) obj;
+            if (!Objects.equals(this.expression, other.expression))
+            {
+                return false;
+            }
+            return Objects.equals(this.options, other.options);
+        }
+        
+    }
+}
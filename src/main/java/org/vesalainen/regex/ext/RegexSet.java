@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.SyntaxErrorException;
+import org.vesalainen.regex.Regex.Option;
+import org.vesalainen.regex.impl.RegexGrammar;
+
+/**
+ * RegexSet tells which of many expressions match the whole input.
+ *
+ * <p>Expression index in compile list is its id. RegexSet is not a
+ * combined automaton. It only prunes candidates by the first char of input:
+ * expressions are indexed by the first char of their literal prefix, and
+ * only expressions with matching first char and expressions without prefix
+ * are candidates. Each candidate is then checked with PrefilteredRegex
+ * literal checks and, if they pass, matched separately. In the worst case
+ * all N expressions are matched against the input.
+ *
+ * <p>Expressions without literal prefix always run. So do all expressions
+ * compiled with CASE_INSENSITIVE or FIXED_ENDER, because they have no
+ * prefix, and expressions with boundary matchers, which are not
+ * prefiltered at all.
+ *
+ * <p>Matching ids are set in caller supplied BitSet and matching doesn't
+ * allocate.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ * @see org.vesalainen.regex.ext.PrefilteredRegex
+ */
+public class RegexSet
+{
+    private final PrefilteredRegex[] regexes;
+    private final Regex[] plain;
+    private final char[] firstChars;
+    private final int[][] byFirstChar;
+    private final int[] noPrefix;
+
+    private RegexSet(PrefilteredRegex[] regexes, Regex[] plain)
+    {
+        this.regexes = regexes;
+        this.plain = plain;
+        Map<Character,List<Integer>> map = new TreeMap<>();
+        List<Integer> list = new ArrayList<>();
+        for (int ii=0;ii<regexes.length;ii++)
+        {
+            String prefix = regexes[ii] != null ? regexes[ii].getPrefix() : null;
+            if (prefix == null)
+            {
+                list.add(ii);
+            }
+            else
+            {
+                map.computeIfAbsent(prefix.charAt(0), (c)->new ArrayList<>()).add(ii);
+            }
+        }
+        this.noPrefix = toArray(list);
+        this.firstChars = new char[map.size()];
+        this.byFirstChar = new int[map.size()][];
+        int index = 0;
+        for (Map.Entry<Character,List<Integer>> e : map.entrySet())
+        {
+            firstChars[index] = e.getKey();
+            byFirstChar[index] = toArray(e.getValue());
+            index++;
+        }
+    }
+    private static int[] toArray(List<Integer> list)
+    {
+        int[] arr = new int[list.size()];
+        for (int ii=0;ii<arr.length;ii++)
+        {
+            arr[ii] = list.get(ii);
+        }
+        return arr;
+    }
+    /**
+     * Compiles expressions. Expression id is its index in list.
+     * @param expressions
+     * @param options Options used for all expressions
+     * @return
+     * @throws IOException
+     * @throws SyntaxErrorException
+     */
+    public static RegexSet compile(List<String> expressions, Option... options) throws IOException, SyntaxErrorException
+    {
+        PrefilteredRegex[] regexes = new PrefilteredRegex[expressions.size()];
+        Regex[] plain = new Regex[expressions.size()];
+        for (int ii=0;ii<regexes.length;ii++)
+        {
+            String expression = expressions.get(ii);
+            if (RegexGrammar.analyze(expression, options).hasBoundary())
+            {
+                plain[ii] = Regex.compile(expression, options);
+            }
+            else
+            {
+                regexes[ii] = PrefilteredRegex.compile(expression, options);
+            }
+        }
+        return new RegexSet(regexes, plain);
+    }
+    /**
+     * Compiles expressions. Expression id is its index in array.
+     * @param expressions
+     * @return
+     * @throws IOException
+     * @throws SyntaxErrorException
+     */
+    public static RegexSet compile(String... expressions) throws IOException, SyntaxErrorException
+    {
+        return compile(Arrays.asList(expressions));
+    }
+    /**
+     * Clears result and sets ids of expressions matching whole text.
+     * @param text
+     * @param result
+     * @return Number of matching expressions
+     */
+    public int match(CharSequence text, BitSet result)
+    {
+        result.clear();
+        int count = 0;
+        if (text.length() > 0)
+        {
+            int idx = Arrays.binarySearch(firstChars, text.charAt(0));
+            if (idx >= 0)
+            {
+                count += match(byFirstChar[idx], text, result);
+            }
+        }
+        count += match(noPrefix, text, result);
+        return count;
+    }
+    private int match(int[] ids, CharSequence text, BitSet result)
+    {
+        int count = 0;
+        for (int id : ids)
+        {
+            if (isMatch(id, text))
+            {
+                result.set(id);
+                count++;
+            }
+        }
+        return count;
+    }
+    /**
+     * Returns true if any expression matches whole text.
+     * @param text
+     * @return
+     */
+    public boolean isMatch(CharSequence text)
+    {
+        if (text.length() > 0)
+        {
+            int idx = Arrays.binarySearch(firstChars, text.charAt(0));
+            if (idx >= 0)
+            {
+                for (int id : byFirstChar[idx])
+                {
+                    if (isMatch(id, text))
+                    {
+                        return true;
+                    }
+                }
+            }
+        }
+        for (int id : noPrefix)
+        {
+            if (isMatch(id, text))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+    private boolean isMatch(int id, CharSequence text)
+    {
+        if (regexes[id] != null)
+        {
+            return regexes[id].isMatch(text);
+        }
+        return plain[id].isMatch(text);
+    }
+    /**
+     * Returns number of expressions.
+     * @return
+     */
+    public int size()
+    {
+        return regexes.length;
+    }
+}
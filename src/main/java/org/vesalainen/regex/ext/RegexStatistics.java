@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.vesalainen.regex.impl.RegexGrammar;
+import org.vesalainen.regex.impl.RegexGrammar.Profile;
+
+/**
+ * RegexStatistics collects profiles of regular expression NFA construction.
+ *
+ * <p>Every expression parsed by RegexParserIntf.createNFA is profiled. This
+ * includes expressions compiled by Regex.compile and RegexMatcher. Profiles
+ * are collected when statistics are enabled with system property
+ * org.vesalainen.regex.statistics=true or with setEnabled. Statistics keep
+ * totals and 10 slowest and largest profiles.
+ *
+ * <p>Enabling statistics registers instance to platform MBeanServer as
+ * org.vesalainen.regex.ext:type=RegexStatistics.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ * @see org.vesalainen.regex.impl.RegexGrammar#profile(java.lang.String, org.vesalainen.regex.Regex.Option...)
+ */
+public class RegexStatistics implements RegexStatisticsMBean
+{
+    private static final int TOP_SIZE = 10;
+    private static final RegexStatistics INSTANCE = new RegexStatistics();
+    private static volatile boolean enabled;
+    private long count;
+    private long totalParseNanos;
+    private long maxParseNanos;
+    private long totalNFAStates;
+    private final List<Profile> slowest = new ArrayList<>();
+    private final List<Profile> largest = new ArrayList<>();
+    
+    static
+    {
+        if (Boolean.getBoolean("org.vesalainen.regex.statistics"))
+        {
+            setEnabled(true);
+        }
+    }
+
+    private RegexStatistics()
+    {
+    }
+
+    public static RegexStatistics getInstance()
+    {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+    /**
+     * Enables or disables collecting by setting RegexGrammar profile
+     * listener. MBean is registered when enabled first time.
+     * @param enabled
+     */
+    public static synchronized void setEnabled(boolean enabled)
+    {
+        if (enabled)
+        {
+            try
+            {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                ObjectName name = new ObjectName("org.vesalainen.regex.ext:type=RegexStatistics");
+                if (!server.isRegistered(name))
+                {
+                    server.registerMBean(INSTANCE, name);
+                }
+            }
+            catch (JMException ex)
+            {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+        RegexGrammar.setProfileListener(enabled ? INSTANCE::add : null);
+        RegexStatistics.enabled = enabled;
+    }
+    /**
+     * Adds profile to statistics.
+     * @param profile
+     */
+    public synchronized void add(Profile profile)
+    {
+        count++;
+        totalParseNanos += profile.getParseNanos();
+        maxParseNanos = Math.max(maxParseNanos, profile.getParseNanos());
+        totalNFAStates += profile.getNFAStates();
+        top(slowest, profile, Profile::getParseNanos);
+        top(largest, profile, Profile::getNFAStates);
+    }
+    private static void top(List<Profile> list, Profile profile, ToLongFunction<Profile> key)
+    {
+        list.add(profile);
+        list.sort(Comparator.comparingLong(key).reversed());
+        if (list.size() > TOP_SIZE)
+        {
+            list.remove(TOP_SIZE);
+        }
+    }
+
+    @Override
+    public synchronized long getCount()
+    {
+        return count;
+    }
+
+    @Override
+    public synchronized long getTotalParseNanos()
+    {
+        return totalParseNanos;
+    }
+
+    @Override
+    public synchronized long getMaxParseNanos()
+    {
+        return maxParseNanos;
+    }
+
+    @Override
+    public synchronized long getTotalNFAStates()
+    {
+        return totalNFAStates;
+    }
+    /**
+     * Returns profiles taking longest time to parse. Slowest first.
+     * @return
+     */
+    public synchronized List<Profile> getSlowestProfiles()
+    {
+        return new ArrayList<>(slowest);
+    }
+    /**
+     * Returns profiles with most NFA states. Largest first.
+     * @return
+     */
+    public synchronized List<Profile> getLargestProfiles()
+    {
+        return new ArrayList<>(largest);
+    }
+
+    @Override
+    public String[] getSlowest()
+    {
+        return toStrings(getSlowestProfiles());
+    }
+
+    @Override
+    public String[] getLargest()
+    {
+        return toStrings(getLargestProfiles());
+    }
+    private static String[] toStrings(List<Profile> list)
+    {
+        String[] arr = new String[list.size()];
+        for (int ii=0;ii<arr.length;ii++)
+        {
+            arr[ii] = list.get(ii).toString();
+        }
+        return arr;
+    }
+
+    @Override
+    public synchronized void reset()
+    {
+        count = 0;
+        totalParseNanos = 0;
+        maxParseNanos = 0;
+        totalNFAStates = 0;
+        slowest.clear();
+        largest.clear();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RegexStatistics{" + "count=" + getCount() + ", totalParseNanos=" + getTotalParseNanos() + ", maxParseNanos=" + getMaxParseNanos() + ", totalNFAStates=" + getTotalNFAStates() + '}';
+    }
+
+}
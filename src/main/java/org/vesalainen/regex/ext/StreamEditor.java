@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.function.Consumer;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.Regex.Option;
+
+/**
+ * StreamEditor replaces and splits with Regex writing results to a sink
+ * instead of building whole result string or array.
+ *
+ * <p>CharSequence input is scanned through a CharBuffer view. Split fields
+ * are pushed as subSequences of input or stored as bounds to caller
+ * supplied array.
+ *
+ * <p>Reader input is replaced with Regex.replace(PushbackReader, int,
+ * Writer, String). Split Reader input with Regex.split(PushbackReader,
+ * int).
+ *
+ * <p>Unlike Regex.split trailing empty fields are not removed. Expression
+ * must have non zero min length and no boundary matchers.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ * @see org.vesalainen.regex.Regex#replace(java.io.PushbackReader, int, java.io.Writer, java.lang.String)
+ */
+public class StreamEditor
+{
+    private final Regex regex;
+    private final int bufferSize;
+    /**
+     * Creates StreamEditor
+     * @param regex
+     * @param bufferSize Buffer size passed to Regex.replace for Reader input
+     * @param options Options used in compiling regex
+     */
+    public StreamEditor(Regex regex, int bufferSize, Option... options)
+    {
+        MatchLocator.checkLocatable(regex, options);
+        if (bufferSize <= 0)
+        {
+            throw new IllegalArgumentException("bufferSize "+bufferSize+" <= 0");
+        }
+        this.regex = regex;
+        this.bufferSize = bufferSize;
+    }
+    /**
+     * Appends text to out with all matches replaced with replacement.
+     * @param text
+     * @param out
+     * @param replacement
+     * @return Number of replaced matches
+     * @throws IOException
+     */
+    public int replace(CharSequence text, Appendable out, CharSequence replacement) throws IOException
+    {
+        MatchLocator locator = new MatchLocator(regex, CharBuffer.wrap(text));
+        int length = text.length();
+        int count = 0;
+        int start = 0;
+        while (locator.find(start, length, length))
+        {
+            out.append(text, start, locator.start());
+            out.append(replacement);
+            count++;
+            start = locator.end();
+        }
+        out.append(text, start, length);
+        return count;
+    }
+    /**
+     * Reads input until end and writes it to out with all matches replaced
+     * with replacement. Reader is not closed.
+     * @param in
+     * @param out
+     * @param replacement
+     * @throws IOException
+     * @see org.vesalainen.regex.Regex#replace(java.io.PushbackReader, int, java.io.Writer, java.lang.String)
+     */
+    public void replace(Reader in, Appendable out, CharSequence replacement) throws IOException
+    {
+        PushbackReader reader = in instanceof PushbackReader ? (PushbackReader) in : new PushbackReader(in);
+        Writer writer = out instanceof Writer ? (Writer) out : new AppendableWriter(out);
+        regex.replace(reader, bufferSize, writer, replacement.toString());
+        writer.flush();
+    }
+    /**
+     * Pushes fields around matches to consumer. Fields are subSequences of
+     * text.
+     * @param text
+     * @param consumer
+     * @return Number of fields
+     */
+    public int split(CharSequence text, Consumer<CharSequence> consumer)
+    {
+        MatchLocator locator = new MatchLocator(regex, CharBuffer.wrap(text));
+        int length = text.length();
+        int count = 0;
+        int start = 0;
+        while (locator.find(start, length, length))
+        {
+            consumer.accept(text.subSequence(start, locator.start()));
+            count++;
+            start = locator.end();
+        }
+        consumer.accept(text.subSequence(start, length));
+        return count+1;
+    }
+    /**
+     * Stores field start and end pairs to bounds. At most bounds.length/2
+     * fields are stored. The last one contains rest of text.
+     * @param text
+     * @param bounds
+     * @return Number of fields
+     */
+    public int split(CharSequence text, int[] bounds)
+    {
+        int max = bounds.length/2;
+        if (max == 0)
+        {
+            throw new IllegalArgumentException("bounds length "+bounds.length+" < 2");
+        }
+        MatchLocator locator = new MatchLocator(regex, CharBuffer.wrap(text));
+        int length = text.length();
+        int count = 0;
+        int start = 0;
+        while (count < max-1 && locator.find(start, length, length))
+        {
+            bounds[2*count] = start;
+            bounds[2*count+1] = locator.start();
+            count++;
+            start = locator.end();
+        }
+        bounds[2*count] = start;
+        bounds[2*count+1] = length;
+        return count+1;
+    }
+    private static class AppendableWriter extends Writer
+    {
+        private final Appendable out;
+
+        private AppendableWriter(Appendable out)
+        {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException
+        {
+            out.append(CharBuffer.wrap(cbuf, off, len));
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+        }
+    }
+}
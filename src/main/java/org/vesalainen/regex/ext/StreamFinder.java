@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.function.ObjLongConsumer;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.Regex.Option;
+
+/**
+ * StreamFinder finds all non overlapping matches of Regex in byte streams
+ * without buffering the whole stream.
+ *
+ * <p>Input is decoded in fixed size chunks into a window. Window keeps
+ * getMaxLength chars after the chunk so that every match starting in chunk
+ * is inside window. Memory use depends only on chunk size and max length.
+ *
+ * <p>Expression must have finite max length, non zero min length and no
+ * boundary matchers. Match positions are absolute byte positions. Charset
+ * must be UTF-8 or a single byte charset. Malformed input throws
+ * CharacterCodingException.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class StreamFinder
+{
+    private final Regex regex;
+    private final Charset charset;
+    private final int chunkSize;
+    private final int overlap;
+    private final boolean utf8;
+    /**
+     * Creates StreamFinder
+     * @param regex
+     * @param charset
+     * @param chunkSize Number of chars decoded at a time
+     * @param options Options used in compiling regex
+     */
+    public StreamFinder(Regex regex, Charset charset, int chunkSize, Option... options)
+    {
+        MatchLocator.checkWindowed(regex, options);
+        if (chunkSize <= 0)
+        {
+            throw new IllegalArgumentException("chunkSize "+chunkSize+" <= 0");
+        }
+        this.utf8 = StandardCharsets.UTF_8.equals(charset);
+        if (!utf8 && charset.newEncoder().maxBytesPerChar() != 1.0F)
+        {
+            throw new IllegalArgumentException(charset+" not UTF-8 or single byte charset");
+        }
+        this.regex = regex;
+        this.charset = charset;
+        this.chunkSize = chunkSize;
+        this.overlap = regex.getMaxLength();
+    }
+    /**
+     * Finds all matches from input stream. Stream is not closed.
+     * @param in
+     * @param consumer Called with matched string and its byte position.
+     * @return Number of matches
+     * @throws IOException
+     */
+    public long find(InputStream in, ObjLongConsumer<String> consumer) throws IOException
+    {
+        return find(Channels.newChannel(in), consumer);
+    }
+    /**
+     * Finds all matches from blocking channel. Channel is not closed.
+     * @param channel
+     * @param consumer Called with matched string and its byte position.
+     * @return Number of matches
+     * @throws IOException
+     */
+    public long find(ReadableByteChannel channel, ObjLongConsumer<String> consumer) throws IOException
+    {
+        // byte buffer must hold the longest UTF-8 sequence
+        return find(channel, ByteBuffer.allocate(Math.max(chunkSize, 4)), consumer);
+    }
+    /**
+     * Finds all matches from buffers remaining bytes. Buffer can be
+     * MappedByteBuffer. Positions are relative to buffers position.
+     * @param buffer
+     * @param consumer Called with matched string and its byte position.
+     * @return Number of matches
+     * @throws IOException
+     */
+    public long find(ByteBuffer buffer, ObjLongConsumer<String> consumer) throws IOException
+    {
+        return find(null, buffer.duplicate(), consumer);
+    }
+    private long find(ReadableByteChannel channel, ByteBuffer bb, ObjLongConsumer<String> consumer) throws IOException
+    {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        // one extra char because surrogate pair might not fit
+        CharBuffer cb = CharBuffer.allocate(chunkSize+overlap+1);
+        MatchLocator locator = new MatchLocator(regex, cb);
+        boolean endOfInput = channel == null;
+        boolean done = false;
+        long bytePosition = 0;
+        long matches = 0;
+        while (true)
+        {
+            while (!done && cb.hasRemaining())
+            {
+                if (!endOfInput && channel.read(bb) == -1)
+                {
+                    endOfInput = true;
+                }
+                if (channel != null)
+                {
+                    bb.flip();
+                }
+                CoderResult cr = decoder.decode(bb, cb, endOfInput);
+                if (channel != null)
+                {
+                    bb.compact();
+                }
+                if (cr.isError())
+                {
+                    cr.throwException();
+                }
+                if (cr.isOverflow())
+                {
+                    break;
+                }
+                if (endOfInput)
+                {
+                    decoder.flush(cb);
+                    done = true;
+                }
+            }
+            cb.flip();
+            int count = cb.limit();
+            int searchEnd = done ? count : count - overlap;
+            int pos = 0;
+            // byte length is counted incrementally from the previous match
+            int counted = 0;
+            long bytes = 0;
+            while (locator.find(pos, count, searchEnd))
+            {
+                int idx = locator.start();
+                matches++;
+                bytes += byteLength(cb, counted, idx);
+                counted = idx;
+                consumer.accept(locator.match(), bytePosition+bytes);
+                pos = locator.end();
+            }
+            if (done)
+            {
+                return matches;
+            }
+            int keep = Math.max(pos, searchEnd);
+            bytePosition += bytes+byteLength(cb, counted, keep);
+            cb.position(keep);
+            cb.compact();
+        }
+    }
+    private long byteLength(CharBuffer cb, int from, int to)
+    {
+        if (!utf8)
+        {
+            return to - from;
+        }
+        long length = 0;
+        for (int ii=from;ii<to;ii++)
+        {
+            char cc = cb.get(ii);
+            if (cc < 0x80)
+            {
+                length++;
+            }
+            else
+            {
+                if (cc < 0x800)
+                {
+                    length += 2;
+                }
+                else
+                {
+                    if (Character.isSurrogate(cc))
+                    {
+                        length += 2;    // pair is 4 bytes
+                    }
+                    else
+                    {
+                        length += 3;
+                    }
+                }
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,646 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * WildcardTrie matches text against large number of wildcard patterns.
+ *
+ * <p>In pattern '?' matches any char and '*' matches any sequence of chars.
+ * Other chars match themselves.
+ *
+ * <p>Patterns are stored in a trie where patterns share common prefixes.
+ * '?' is an edge matching any char and '*' leads to a node looping with any
+ * char. Trie size is linear to total length of patterns.
+ *
+ * <p>Text is matched with a DFA whose states are sets of trie nodes. DFA
+ * states and transitions are created when input reaches them and cached.
+ * Time per char of cached transition doesn't depend on number of patterns.
+ * When number of cached states exceeds maxStates the cache is flushed.
+ *
+ * <p>Star loops often keep DFA in the same state for long runs of input.
+ * When state is created it is checked whether all chars except the literal
+ * edges of its nodes loop back to it. In such state match scans directly to
+ * the next exit char instead of taking a transition per char.
+ *
+ * <p>Adding patterns and compiling is not thread safe. Compiled WildcardTrie
+ * is thread safe and can be shared. Text can be matched in one call or char
+ * by char with Cursor. Cursor keeps only the current DFA state so each
+ * thread or connection can have its own cheap cursor.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ * @param <T> Type of pattern values
+ * @see org.vesalainen.regex.WildcardMatcher
+ */
+public class WildcardTrie<T>
+{
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<WildcardTrie.State,Transitions> TRANSITIONS =
+            AtomicReferenceFieldUpdater.newUpdater(WildcardTrie.State.class, Transitions.class, "transitions");
+    private final int maxStates;
+    private Node root = new Node(false);
+    private final List<T> values = new ArrayList<>();
+    // compiled trie
+    private boolean[] loop;
+    private char[][] chars;
+    private int[][] targets;
+    private int[] any;
+    private int[] star;
+    private int[][] accept;
+    // lazy DFA
+    private final ConcurrentMap<Key,State> states = new ConcurrentHashMap<>();
+    // null until compiled
+    private volatile State start;
+    /**
+     * Creates WildcardTrie with maximum 100000 cached DFA states.
+     */
+    public WildcardTrie()
+    {
+        this(100000);
+    }
+    /**
+     * Creates WildcardTrie
+     * @param maxStates Maximum number of cached DFA states.
+     */
+    public WildcardTrie(int maxStates)
+    {
+        if (maxStates <= 0)
+        {
+            throw new IllegalArgumentException("maxStates "+maxStates+" <= 0");
+        }
+        this.maxStates = maxStates;
+    }
+    /**
+     * Adds pattern. Value is returned when text matches pattern. The same
+     * pattern can be added with many values.
+     * @param pattern
+     * @param value
+     */
+    public void addExpression(String pattern, T value)
+    {
+        if (start != null)
+        {
+            throw new IllegalStateException("already compiled");
+        }
+        Node node = root;
+        int len = pattern.length();
+        for (int ii=0;ii<len;ii++)
+        {
+            char cc = pattern.charAt(ii);
+            switch (cc)
+            {
+                case '?':
+                    if (node.any == null)
+                    {
+                        node.any = new Node(false);
+                    }
+                    node = node.any;
+                    break;
+                case '*':
+                    if (!node.loop)
+                    {
+                        if (node.star == null)
+                        {
+                            node.star = new Node(true);
+                        }
+                        node = node.star;
+                    }
+                    break;
+                default:
+                    Node next = node.children.get(cc);
+                    if (next == null)
+                    {
+                        next = new Node(false);
+                        node.children.put(cc, next);
+                    }
+                    node = next;
+                    break;
+            }
+        }
+        node.accept.add(values.size());
+        values.add(value);
+    }
+    /**
+     * Compiles trie to arrays. Patterns can't be added after compile.
+     */
+    public void compile()
+    {
+        if (start != null)
+        {
+            throw new IllegalStateException("already compiled");
+        }
+        List<Node> nodes = new ArrayList<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        root.index = 0;
+        nodes.add(root);
+        queue.add(root);
+        while (!queue.isEmpty())
+        {
+            Node node = queue.removeFirst();
+            for (Node next : node.next())
+            {
+                next.index = nodes.size();
+                nodes.add(next);
+                queue.add(next);
+            }
+        }
+        int size = nodes.size();
+        loop = new boolean[size];
+        chars = new char[size][];
+        targets = new int[size][];
+        any = new int[size];
+        star = new int[size];
+        accept = new int[size][];
+        for (Node node : nodes)
+        {
+            int idx = node.index;
+            loop[idx] = node.loop;
+            int count = node.children.size();
+            chars[idx] = new char[count];
+            targets[idx] = new int[count];
+            int ii = 0;
+            for (Map.Entry<Character,Node> e : node.children.entrySet())
+            {
+                chars[idx][ii] = e.getKey();
+                targets[idx][ii] = e.getValue().index;
+                ii++;
+            }
+            any[idx] = node.any != null ? node.any.index : -1;
+            star[idx] = node.star != null ? node.star.index : -1;
+            accept[idx] = toArray(node.accept);
+        }
+        root = null;
+        start = state(closure(new int[]{0}, 1));
+    }
+    /**
+     * Returns values of patterns matching whole text in the order they were
+     * added. Returned list is shared and unmodifiable. Empty list is returned
+     * if no pattern matches.
+     * @param text
+     * @return
+     */
+    public List<T> match(CharSequence text)
+    {
+        State state = start();
+        int len = text.length();
+        for (int ii=0;ii<len && !state.dead;ii++)
+        {
+            if (state.exits != null)
+            {
+                ii = state.skip(text, ii, len);
+                if (ii == len)
+                {
+                    break;
+                }
+            }
+            state = next(state, text.charAt(ii));
+        }
+        return state.values;
+    }
+    /**
+     * Returns new cursor positioned at start.
+     * @return
+     */
+    public Cursor cursor()
+    {
+        return new Cursor(start());
+    }
+    private State start()
+    {
+        State s = start;
+        if (s == null)
+        {
+            throw new IllegalStateException("not compiled");
+        }
+        return s;
+    }
+    /**
+     * Returns number of cached DFA states.
+     * @return
+     */
+    public int getStateCount()
+    {
+        return states.size();
+    }
+    /**
+     * Returns number of trie nodes.
+     * @return
+     */
+    public int getNodeCount()
+    {
+        return loop.length;
+    }
+    /**
+     * Returns next state. Concurrent threads may create the same transition.
+     * Then the first added is kept and returned to all of them. Transitions
+     * are added with compare-and-set so that concurrently added transitions
+     * for different chars are not lost.
+     * @param state
+     * @param cc
+     * @return
+     */
+    private State next(State state, char cc)
+    {
+        State next = state.get(cc);
+        if (next == null)
+        {
+            next = transit(state, cc);
+            if (states.size() > maxStates)
+            {
+                synchronized(states)
+                {
+                    if (states.size() > maxStates)
+                    {
+                        states.clear();
+                        start = state(start.nodes);
+                    }
+                }
+            }
+            next = state.put(cc, next);
+        }
+        return next;
+    }
+    /**
+     * Returns sorted literal edge chars of nodes if all other chars transit
+     * back to the same nodes. Otherwise returns null.
+     * @param nodes
+     * @return
+     */
+    private char[] exits(int[] nodes)
+    {
+        int[] set = new int[2*nodes.length];
+        int size = 0;
+        int count = 0;
+        for (int node : nodes)
+        {
+            if (any[node] != -1)
+            {
+                set[size++] = any[node];
+            }
+            if (loop[node])
+            {
+                set[size++] = node;
+            }
+            count += chars[node].length;
+        }
+        if (!Arrays.equals(nodes, closure(set, size)))
+        {
+            return null;
+        }
+        char[] exits = new char[count];
+        int ii = 0;
+        for (int node : nodes)
+        {
+            for (char cc : chars[node])
+            {
+                exits[ii++] = cc;
+            }
+        }
+        Arrays.sort(exits);
+        int unique = 0;
+        for (ii=0;ii<count;ii++)
+        {
+            if (unique == 0 || exits[unique-1] != exits[ii])
+            {
+                exits[unique++] = exits[ii];
+            }
+        }
+        return Arrays.copyOf(exits, unique);
+    }
+    private State transit(State state, char cc)
+    {
+        // literal, '?' and loop targets
+        int[] set = new int[3*state.nodes.length];
+        int size = 0;
+        for (int node : state.nodes)
+        {
+            int idx = Arrays.binarySearch(chars[node], cc);
+            if (idx >= 0)
+            {
+                set[size++] = targets[node][idx];
+            }
+            if (any[node] != -1)
+            {
+                set[size++] = any[node];
+            }
+            if (loop[node])
+            {
+                set[size++] = node;
+            }
+        }
+        return state(closure(set, size));
+    }
+    /**
+     * Adds nodes reachable with '*' edges and returns sorted unique nodes.
+     * @param set
+     * @param size
+     * @return
+     */
+    private int[] closure(int[] set, int size)
+    {
+        int length = size;
+        for (int ii=0;ii<size;ii++)
+        {
+            int s = star[set[ii]];
+            if (s != -1)
+            {
+                if (length == set.length)
+                {
+                    set = Arrays.copyOf(set, 2*length+1);
+                }
+                set[length++] = s;
+            }
+        }
+        Arrays.sort(set, 0, length);
+        int unique = 0;
+        for (int ii=0;ii<length;ii++)
+        {
+            if (unique == 0 || set[unique-1] != set[ii])
+            {
+                set[unique++] = set[ii];
+            }
+        }
+        return Arrays.copyOf(set, unique);
+    }
+    private State state(int[] nodes)
+    {
+        return states.computeIfAbsent(new Key(nodes), (k)->new State(nodes, values(nodes)));
+    }
+    private List<T> values(int[] nodes)
+    {
+        int count = 0;
+        for (int node : nodes)
+        {
+            count += accept[node].length;
+        }
+        if (count == 0)
+        {
+            return Collections.emptyList();
+        }
+        int[] indexes = new int[count];
+        int ii = 0;
+        for (int node : nodes)
+        {
+            for (int idx : accept[node])
+            {
+                indexes[ii++] = idx;
+            }
+        }
+        Arrays.sort(indexes);
+        List<T> list = new ArrayList<>(count);
+        for (int idx : indexes)
+        {
+            list.add(values.get(idx));
+        }
+        return Collections.unmodifiableList(list);
+    }
+    private static int[] toArray(List<Integer> list)
+    {
+        int[] arr = new int[list.size()];
+        for (int ii=0;ii<arr.length;ii++)
+        {
+            arr[ii] = list.get(ii);
+        }
+        return arr;
+    }
+    /**
+     * Cursor matches text char by char. Cursor is not thread safe.
+     */
+    public class Cursor
+    {
+        private State state;
+
+        private Cursor(State state)
+        {
+            this.state = state;
+        }
+        /**
+         * Moves cursor with cc.
+         * @param cc
+         * @return false if no pattern can match anymore.
+         */
+        public boolean match(char cc)
+        {
+            if (!state.dead)
+            {
+                state = next(state, cc);
+            }
+            return !state.dead;
+        }
+        /**
+         * Returns values of patterns matching chars after start or clear.
+         * Returned list is shared and unmodifiable.
+         * @return
+         */
+        public List<T> getMatched()
+        {
+            return state.values;
+        }
+        /**
+         * Moves cursor to start.
+         */
+        public void clear()
+        {
+            state = start;
+        }
+    }
+    /**
+     * DFA state. Transitions are kept in sorted key array and list of next
+     * states which are replaced with compare-and-set when transition is
+     * added. Self looping state has exits and bitmap of
+     * them.
+     */
+    private class State
+    {
+        private final int[] nodes;
+        private final List<T> values;
+        private final boolean dead;
+        private final char[] exits;
+        private final long[] exitMask;
+        volatile Transitions<State> transitions = new Transitions<>();
+
+        private State(int[] nodes, List<T> values)
+        {
+            this.nodes = nodes;
+            this.values = values;
+            this.dead = nodes.length == 0;
+            this.exits = dead ? null : exits(nodes);
+            if (exits != null && exits.length > 0)
+            {
+                exitMask = new long[(exits[exits.length-1]>>6)+1];
+                for (char cc : exits)
+                {
+                    exitMask[cc>>6] |= 1L<<cc;
+                }
+            }
+            else
+            {
+                exitMask = new long[0];
+            }
+        }
+        /**
+         * Returns index of first exit char at or after from or len if not
+         * found.
+         * @param text
+         * @param from
+         * @param len
+         * @return
+         */
+        private int skip(CharSequence text, int from, int len)
+        {
+            if (exits.length == 1 && (text instanceof String))
+            {
+                int idx = ((String)text).indexOf(exits[0], from);
+                return idx != -1 ? idx : len;
+            }
+            for (int ii=from;ii<len;ii++)
+            {
+                char cc = text.charAt(ii);
+                int word = cc>>6;
+                if (word < exitMask.length && (exitMask[word] & (1L<<cc)) != 0)
+                {
+                    return ii;
+                }
+            }
+            return len;
+        }
+        private State get(char cc)
+        {
+            Transitions<State> t = transitions;
+            int idx = Arrays.binarySearch(t.keys, cc);
+            return idx >= 0 ? t.nexts.get(idx) : null;
+        }
+        /**
+         * Adds transition unless other thread added it first.
+         * @param cc
+         * @param next
+         * @return Next state for cc
+         */
+        private State put(char cc, State next)
+        {
+            while (true)
+            {
+                Transitions<State> t = transitions;
+                int idx = Arrays.binarySearch(t.keys, cc);
+                if (idx >= 0)
+                {
+                    return t.nexts.get(idx);
+                }
+                if (TRANSITIONS.compareAndSet(this, t, new Transitions<>(t, -idx-1, cc, next)))
+                {
+                    return next;
+                }
+            }
+        }
+    }
+    /**
+     * Immutable transitions. Next states are in a list because array of
+     * inner class of generic class can't be created.
+     * @param <S>
+     */
+    private static class Transitions<S>
+    {
+        private final char[] keys;
+        private final List<S> nexts;
+
+        private Transitions()
+        {
+            this.keys = new char[0];
+            this.nexts = Collections.emptyList();
+        }
+        private Transitions(Transitions<S> t, int idx, char cc, S next)
+        {
+            int length = t.keys.length;
+            keys = new char[length+1];
+            System.arraycopy(t.keys, 0, keys, 0, idx);
+            keys[idx] = cc;
+            System.arraycopy(t.keys, idx, keys, idx+1, length-idx);
+            List<S> list = new ArrayList<>(length+1);
+            list.addAll(t.nexts);
+            list.add(idx, next);
+            nexts = list;
+        }
+    }
+    private static class Key
+    {
+        private final int[] nodes;
+        private final int hash;
+
+        private Key(int[] nodes)
+        {
+            this.nodes = nodes;
+            this.hash = Arrays.hashCode(nodes);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (!(obj instanceof Key))
+            {
+                return false;
+            }
+            return Arrays.equals(nodes, ((Key) obj).nodes);
+        }
+    }
+    private static class Node
+    {
+        private final boolean loop;
+        private final Map<Character,Node> children = new TreeMap<>();
+        private Node any;
+        private Node star;
+        private final List<Integer> accept = new ArrayList<>(1);
+        private int index;
+
+        private Node(boolean loop)
+        {
+            this.loop = loop;
+        }
+        private List<Node> next()
+        {
+            List<Node> list = new ArrayList<>(children.values());
+            if (any != null)
+            {
+                list.add(any);
+            }
+            if (star != null)
+            {
+                list.add(star);
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.vesalainen.regex.RangeSet;
+
+/**
+ * CaseFolding adds case insensitive equivalents of code point ranges.
+ *
+ * <p>Code points are equivalent when they have the same simple case folding.
+ * Case folding of code point is
+ * Character.toLowerCase(Character.toUpperCase(cp)) which is the same that
+ * java.util.regex uses with UNICODE_CASE. Equivalence classes (orbits) may
+ * have more than two members. E.g. 'k', 'K' and KELVIN SIGN.
+ *
+ * <p>Table contains for each code point in orbit the next code point in the
+ * same orbit. Code points having the same distance to next are merged to one
+ * entry. Folding a range takes time proportional to the number of entries
+ * overlapping it.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+final class CaseFolding
+{
+    /**
+     * Even code point maps to cp+1 and odd to cp-1.
+     */
+    private static final int EVEN_ODD = Integer.MIN_VALUE;
+    /**
+     * Odd code point maps to cp+1 and even to cp-1.
+     */
+    private static final int ODD_EVEN = Integer.MIN_VALUE+1;
+
+    private CaseFolding()
+    {
+    }
+    /**
+     * Adds from - to and their case equivalents to rs.
+     * @param rs
+     * @param from Inclusive
+     * @param to Inclusive
+     */
+    static void add(RangeSet rs, int from, int to)
+    {
+        int[] folded = fold(from, to);
+        for (int ii=0;ii<folded.length;ii+=2)
+        {
+            rs.add(folded[ii], folded[ii+1]);
+        }
+    }
+    /**
+     * Returns merged intervals of code points from - to and their case
+     * equivalents. Returned array contains start and end pairs where end is
+     * exclusive.
+     * @param from Inclusive
+     * @param to Inclusive
+     * @return
+     */
+    static int[] fold(int from, int to)
+    {
+        Table table = Table.INSTANCE;
+        List<int[]> result = new ArrayList<>();
+        result.add(new int[]{from, to});
+        List<int[]> current = result;
+        // orbit of n members is covered after n-1 steps
+        for (int round=1;round<table.maxOrbit;round++)
+        {
+            List<int[]> next = new ArrayList<>();
+            for (int[] range : current)
+            {
+                table.next(range[0], range[1], next);
+            }
+            if (next.isEmpty())
+            {
+                break;
+            }
+            result.addAll(next);
+            current = next;
+        }
+        return merge(result);
+    }
+    private static int[] merge(List<int[]> list)
+    {
+        list.sort((x,y)->Integer.compare(x[0], y[0]));
+        int[] merged = new int[2*list.size()];
+        int length = 0;
+        for (int[] range : list)
+        {
+            if (length > 0 && range[0] <= merged[length-1])
+            {
+                merged[length-1] = Math.max(merged[length-1], range[1]+1);
+            }
+            else
+            {
+                merged[length++] = range[0];
+                merged[length++] = range[1]+1;
+            }
+        }
+        return Arrays.copyOf(merged, length);
+    }
+    static int fold(int cp)
+    {
+        return Character.toLowerCase(Character.toUpperCase(cp));
+    }
+    private static class Table
+    {
+        private static final Table INSTANCE = new Table();
+        private int[] lo;
+        private int[] hi;
+        private int[] delta;
+        private int maxOrbit = 1;
+
+        private Table()
+        {
+            Map<Integer,List<Integer>> orbits = new TreeMap<>();
+            for (int cp=0;cp<=Character.MAX_CODE_POINT;cp++)
+            {
+                int f = fold(cp);
+                if (f != cp)
+                {
+                    List<Integer> orbit = orbits.get(f);
+                    if (orbit == null)
+                    {
+                        orbit = new ArrayList<>();
+                        if (fold(f) == f)
+                        {
+                            orbit.add(f);
+                        }
+                        orbits.put(f, orbit);
+                    }
+                    orbit.add(cp);
+                }
+            }
+            Map<Integer,Integer> nextMap = new TreeMap<>();
+            for (List<Integer> orbit : orbits.values())
+            {
+                int size = orbit.size();
+                if (size > 1)
+                {
+                    orbit.sort(null);
+                    maxOrbit = Math.max(maxOrbit, size);
+                    for (int ii=0;ii<size;ii++)
+                    {
+                        nextMap.put(orbit.get(ii), orbit.get((ii+1) % size));
+                    }
+                }
+            }
+            int[] l = new int[nextMap.size()];
+            int[] h = new int[nextMap.size()];
+            int[] d = new int[nextMap.size()];
+            int length = 0;
+            for (Map.Entry<Integer,Integer> e : nextMap.entrySet())
+            {
+                int cp = e.getKey();
+                int kind = kind(cp, e.getValue());
+                if (length > 0 && h[length-1] == cp-1 && d[length-1] == kind)
+                {
+                    h[length-1] = cp;
+                }
+                else
+                {
+                    l[length] = cp;
+                    h[length] = cp;
+                    d[length] = kind;
+                    length++;
+                }
+            }
+            lo = Arrays.copyOf(l, length);
+            hi = Arrays.copyOf(h, length);
+            delta = Arrays.copyOf(d, length);
+        }
+        private static int kind(int cp, int next)
+        {
+            int d = next - cp;
+            if (d == 1 || d == -1)
+            {
+                boolean even = (cp % 2) == 0;
+                if ((d == 1) == even)
+                {
+                    return EVEN_ODD;
+                }
+                else
+                {
+                    return ODD_EVEN;
+                }
+            }
+            return d;
+        }
+        /**
+         * Adds images of from - to to list. Image may contain also code
+         * points of from - to.
+         * @param from Inclusive
+         * @param to Inclusive
+         * @param list
+         */
+        private void next(int from, int to, List<int[]> list)
+        {
+            int idx = Arrays.binarySearch(hi, from);
+            if (idx < 0)
+            {
+                idx = -idx-1;
+            }
+            while (idx < lo.length && lo[idx] <= to)
+            {
+                int start = Math.max(from, lo[idx]);
+                int end = Math.min(to, hi[idx]);
+                int d = delta[idx];
+                switch (d)
+                {
+                    case EVEN_ODD:
+                        list.add(parity(start, end, 0));
+                        break;
+                    case ODD_EVEN:
+                        list.add(parity(start, end, 1));
+                        break;
+                    default:
+                        list.add(new int[]{start+d, end+d});
+                        break;
+                }
+                idx++;
+            }
+        }
+        private static int[] parity(int start, int end, int up)
+        {
+            if (start == end)
+            {
+                if ((start & 1) == up)
+                {
+                    return new int[]{start+1, start+1};
+                }
+                else
+                {
+                    return new int[]{start-1, start-1};
+                }
+            }
+            if ((start & 1) != up)
+            {
+                start--;
+            }
+            if ((end & 1) == up)
+            {
+                end++;
+            }
+            return new int[]{start, end};
+        }
+    }
+}
@@ -26,10 +26,14 @@ import org.vesalainen.parser.annotation.Rule;
 import org.vesalainen.parser.annotation.Rules;
 import org.vesalainen.parser.annotation.Terminal;
 import org.vesalainen.regex.Regex.Option;
-import java.lang.Character.UnicodeBlock;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
 import static org.vesalainen.parser.ParserFeature.SingleThread;
+import org.vesalainen.parser.GenClassFactory;
 import org.vesalainen.parser.annotation.GenClassname;
 import org.vesalainen.regex.Quantifier;
 import org.vesalainen.regex.CharRange;
@@ -47,6 +51,7 @@ import org.vesalainen.regex.RegexParserIntf;
 public abstract class RegexGrammar<T> implements RegexParserIntf<T>
 {
     private static final String REGEXCONTROL = "\\[\\]\\(\\)\\\\\\-\\^\\*\\+\\?\\|\\.\\{\\}\\&\\$\\,";
+    private static volatile Consumer<Profile> profileListener;
 
     /**
      * Creates a Nondeterministic finite automata from regular expression
@@ -59,7 +64,15 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
     public NFA<T> createNFA(Scope<NFAState<T>> scope, String expression, T reducer, Option... options)
     {
         Literal literal = new Literal();
-        NFA<T> nfa = parse(expression, scope, literal, options);
+        Profile profile = new Profile(expression);
+        long start = System.nanoTime();
+        NFA<T> nfa = parse(expression, scope, literal, profile, options);
+        profile.setParseNanos(System.nanoTime()-start);
+        Consumer<Profile> listener = profileListener;
+        if (listener != null)
+        {
+            listener.accept(profile);
+        }
         if (Option.supports(options, Option.FIXED_ENDER))
         {
             NFA.modifyFixedEnder(nfa);
@@ -76,11 +89,65 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
         }
         return nfa;
     }
+    /**
+     * Sets listener which is called with profile of every expression parsed
+     * by createNFA.
+     * @param listener Listener or null to remove
+     */
+    public static void setProfileListener(Consumer<Profile> listener)
+    {
+        profileListener = listener;
+    }
+    /**
+     * Parses expression and returns literal analysis of it.
+     * @param expression
+     * @param options
+     * @return
+     * @see org.vesalainen.regex.impl.RegexGrammar.Literal#getRequired()
+     */
+    public static Literal analyze(String expression, Option... options)
+    {
+        RegexGrammar<Object> grammar = (RegexGrammar<Object>) GenClassFactory.getGenInstance(RegexGrammar.class);
+        Literal literal = new Literal(true);
+        NFA<Object> nfa = grammar.parse(expression, new Scope<>(expression), literal, new Profile(expression), options);
+        literal.setRoot(nfa);
+        return literal;
+    }
+    /**
+     * Parses expression and returns profile of NFA construction.
+     * @param expression
+     * @param options
+     * @return
+     */
+    public static Profile profile(String expression, Option... options)
+    {
+        return profile(expression, Profile.MAX_NFA_STATES, Profile.MAX_PARSE_MILLIS, options);
+    }
+    /**
+     * Parses expression with given limits and returns profile of NFA
+     * construction.
+     * @param expression
+     * @param maxNFAStates
+     * @param maxParseMillis
+     * @param options
+     * @return
+     * @throws RegexLimitException If limit is exceeded
+     */
+    public static Profile profile(String expression, int maxNFAStates, long maxParseMillis, Option... options)
+    {
+        RegexGrammar<Object> grammar = (RegexGrammar<Object>) GenClassFactory.getGenInstance(RegexGrammar.class);
+        Profile profile = new Profile(expression, maxNFAStates, maxParseMillis);
+        long start = System.nanoTime();
+        grammar.parse(expression, new Scope<>(expression), new Literal(), profile, options);
+        profile.setParseNanos(System.nanoTime()-start);
+        return profile;
+    }
     @ParseMethod(start="regexp", features={SingleThread})
     protected abstract NFA parse(
             String expression,
             @ParserContext("FACTORY") Scope<NFAState<T>> factory,
             @ParserContext("LITERAL") Literal literal,
+            @ParserContext("PROFILE") Profile profile,
             @ParserContext("OPTION") Option... options
             );
 
@@ -94,15 +161,25 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
             NFA branch,
             NFA piece,
             @ParserContext("FACTORY") Scope<NFAState<T>> factory,
-            @ParserContext("LITERAL") Literal literal)
+            @ParserContext("LITERAL") Literal literal,
+            @ParserContext("PROFILE") Profile profile)
     {
         literal.setLiteral(false);
-        return new NFA(factory, branch, piece);
+        NFA nfa = new NFA(factory, branch, piece);
+        literal.union(nfa, branch, piece);
+        profile.union(nfa, branch, piece);
+        return nfa;
     }
 
     @Rule({"branch", "piece"})
-    protected NFA branch(NFA<T> branch, NFA<T> piece)
+    protected NFA branch(
+            NFA<T> branch,
+            NFA<T> piece,
+            @ParserContext("LITERAL") Literal literal,
+            @ParserContext("PROFILE") Profile profile)
     {
+        literal.concat(branch, piece);
+        profile.concat(branch, piece);
         branch.concat(piece);
         return branch;
     }
@@ -117,25 +194,29 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
             NFA<T> atom,
             Quantifier quantifier,
             @ParserContext("FACTORY") Scope<NFAState<T>> factory,
-            @ParserContext("LITERAL") Literal literal)
+            @ParserContext("LITERAL") Literal literal,
+            @ParserContext("PROFILE") Profile profile)
     {
         literal.setLiteral(false);
+        int count = quantifier.getMax() == Integer.MAX_VALUE ? quantifier.getMin()+1 : quantifier.getMax();
+        profile.checkRepeat(count, atom, quantifier);
         NFA<T> result = null;
         for (int ii=0;ii<quantifier.getMin();ii++)
         {
-            NFA<T> r = new NFA<>(factory, atom);
+            NFA<T> r = profile.copy(new NFA<>(factory, atom), atom);
             if (result == null)
             {
                 result = r;
             }
             else
             {
+                profile.concat(result, r);
                 result.concat(r);
             }
         }
         if (quantifier.getMax() == Integer.MAX_VALUE)
         {
-            NFA<T> r = new NFA<>(factory, atom);
+            NFA<T> r = profile.copy(new NFA<>(factory, atom), atom);
             r.star();
             if (result == null)
             {
@@ -143,6 +224,7 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
             }
             else
             {
+                profile.concat(result, r);
                 result.concat(r);
             }
         }
@@ -150,7 +232,7 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
         {
             for (int ii=quantifier.getMin();ii<quantifier.getMax();ii++)
             {
-                NFA<T> r = new NFA<>(factory, atom);
+                NFA<T> r = profile.copy(new NFA<>(factory, atom), atom);
                 r.opt();
                 if (result == null)
                 {
@@ -158,10 +240,12 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
                 }
                 else
                 {
+                    profile.concat(result, r);
                     result.concat(r);
                 }
             }
         }
+        literal.repeat(result, atom, quantifier);
         return result;
     }
     @Rule({"atom", "quantifier"})
@@ -169,28 +253,32 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
             RangeSet atom,
             Quantifier quantifier,
             @ParserContext("FACTORY") Scope<NFAState<T>> factory,
-            @ParserContext("LITERAL") Literal literal)
+            @ParserContext("LITERAL") Literal literal,
+            @ParserContext("PROFILE") Profile profile)
     {
         if (quantifier.getMin() != 1 || quantifier.getMax() != 1)
         {
             literal.setLiteral(false);
         }
+        int count = quantifier.getMax() == Integer.MAX_VALUE ? quantifier.getMin()+1 : quantifier.getMax();
+        profile.checkRepeat(count, null, quantifier);
         NFA<T> result = null;
         for (int ii=0;ii<quantifier.getMin();ii++)
         {
-            NFA<T> r = new NFA<>(factory, atom);
+            NFA<T> r = profile.create(new NFA<>(factory, atom));
             if (result == null)
             {
                 result = r;
             }
             else
             {
+                profile.concat(result, r);
                 result.concat(r);
             }
         }
         if (quantifier.getMax() == Integer.MAX_VALUE)
         {
-            NFA<T> r = new NFA<>(factory, atom);
+            NFA<T> r = profile.create(new NFA<>(factory, atom));
             r.star();
             if (result == null)
             {
@@ -198,6 +286,7 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
             }
             else
             {
+                profile.concat(result, r);
                 result.concat(r);
             }
         }
@@ -206,7 +295,7 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
             Set<NFAState<T>> skippers = new HashSet<>();
             for (int ii=quantifier.getMin();ii<quantifier.getMax();ii++)
             {
-                NFA<T> r = new NFA<>(factory, atom);
+                NFA<T> r = profile.create(new NFA<>(factory, atom));
                 skippers.add(r.getFirst());
                 if (result == null)
                 {
@@ -214,6 +303,7 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
                 }
                 else
                 {
+                    profile.concat(result, r);
                     result.concat(r);
                 }
             }
@@ -222,6 +312,7 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
                 s.addEpsilon(result.getLast());
             }
         }
+        literal.repeat(result, atom, quantifier);
         return result;
     }
     @Rules({
@@ -234,8 +325,9 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
         return rs;
     }
     @Rule({"'\\['", "rs1", "'\\]'"})
-    protected RangeSet rangeDef(RangeSet rs)
+    protected RangeSet rangeDef(RangeSet rs, @ParserContext("LITERAL") Literal literal)
     {
+        literal.remove(rs);
         return rs;
     }
     @Rules({
@@ -297,23 +389,19 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
         return rs;
     }
     @Rule({"character"})
-    protected RangeSet charRange(int cc, @ParserContext("OPTION") Option... options)
+    protected RangeSet charRange(
+            int cc,
+            @ParserContext("LITERAL") Literal literal,
+            @ParserContext("OPTION") Option... options)
     {
-        RangeSet rs = new RangeSet(cc);
         if (Option.supports(options, Option.CASE_INSENSITIVE))
         {
-            if (Character.isLowerCase(cc))
-            {
-                rs.add(Character.toUpperCase(cc));
-            }
-            else
-            {
-                if (Character.isUpperCase(cc))
-                {
-                    rs.add(Character.toLowerCase(cc));
-                }
-            }
+            RangeSet rs = new RangeSet();
+            CaseFolding.add(rs, cc, cc);
+            return rs;
         }
+        RangeSet rs = new RangeSet(cc);
+        literal.character(rs, cc);
         return rs;
     }
     @Rules({
@@ -337,21 +425,7 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
         RangeSet rs = new RangeSet();
         if (Option.supports(options, Option.CASE_INSENSITIVE))
         {
-            for (int cc=from;cc<=to;cc++)
-            {
-                rs.add(cc);
-                if (Character.isLowerCase(cc))
-                {
-                    rs.add(Character.toUpperCase(cc));
-                }
-                else
-                {
-                    if (Character.isUpperCase(cc))
-                    {
-                        rs.add(Character.toLowerCase(cc));
-                    }
-                }
-            }
+            CaseFolding.add(rs, from, to);
         }
         else
         {
@@ -400,8 +474,9 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
     @Rule("endOfInputOrLine"),
     @Rule("endOfInput")
     })
-    protected RangeSet boundaryMatcher(CharRange range)
+    protected RangeSet boundaryMatcher(CharRange range, @ParserContext("LITERAL") Literal literal)
     {
+        literal.setBoundary(true);
         RangeSet rs = new RangeSet();
         rs.add(range);
         return rs;
@@ -689,16 +764,7 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
     @Terminal(expression =  "\\{javaLowerCase\\}")
     protected RangeSet javaLowerCase()
     {
-        RangeSet rs = new RangeSet();
-        for (int ii=0;ii<Character.MAX_VALUE;ii++)
-        {
-            char cc = (char) ii;
-            if (Character.isLowerCase(cc))
-            {
-                rs.add(new CharRange(cc));
-            }
-        }
-        return rs;
+        return UnicodeTables.lowerCase();
     }
     @Terminal(expression =  "\\{javaUpperCase\\}")
     protected RangeSet javaUpperCase(@ParserContext("OPTION") Option... options)
@@ -707,87 +773,32 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
         {
             return javaLowerCase();
         }
-        RangeSet rs = new RangeSet();
-        for (int ii=0;ii<Character.MAX_VALUE;ii++)
-        {
-            char cc = (char) ii;
-            if (Character.isUpperCase(cc))
-            {
-                rs.add(new CharRange(cc));
-            }
-        }
-        return rs;
+        return UnicodeTables.upperCase();
     }
     @Terminal(expression =  "\\{javaWhitespace\\}")
     protected RangeSet javaWhitespace()
     {
-        RangeSet rs = new RangeSet();
-        for (int ii=0;ii<Character.MAX_VALUE;ii++)
-        {
-            char cc = (char) ii;
-            if (Character.isWhitespace(cc))
-            {
-                rs.add(new CharRange(cc));
-            }
-        }
-        return rs;
+        return UnicodeTables.whitespace();
     }
     @Terminal(expression =  "\\{javaMirrored\\}")
     protected RangeSet javaMirrored()
     {
-        RangeSet rs = new RangeSet();
-        for (int ii=0;ii<Character.MAX_VALUE;ii++)
-        {
-            char cc = (char) ii;
-            if (Character.isMirrored(cc))
-            {
-                rs.add(new CharRange(cc));
-            }
-        }
-        return rs;
+        return UnicodeTables.mirrored();
     }
     @Terminal(expression =  "\\{L\\}|\\{IsL\\}")
     protected RangeSet unicodeLetter()
     {
-        RangeSet rs = new RangeSet();
-        for (int ii=0;ii<Character.MAX_VALUE;ii++)
-        {
-            char cc = (char) ii;
-            if (Character.isLetter(cc))
-            {
-                rs.add(new CharRange(cc));
-            }
-        }
-        return rs;
+        return UnicodeTables.letter();
     }
     @Rule({"'\\{In'", "blockName", "'\\}'"})
     protected RangeSet unicodeBlock(String blockName)
     {
-        Character.UnicodeBlock b = Character.UnicodeBlock.forName(blockName);
-        RangeSet rs = new RangeSet();
-        for (int ii=0;ii<Character.MAX_VALUE;ii++)
-        {
-            char cc = (char) ii;
-            if (b.equals(UnicodeBlock.of(cc)))
-            {
-                rs.add(new CharRange(cc));
-            }
-        }
-        return rs;
+        return UnicodeTables.block(blockName);
     }
     @Rule({"category"})
     protected RangeSet unicodeCategory(int category)
     {
-        RangeSet rs = new RangeSet();
-        for (int ii=0;ii<Character.MAX_VALUE;ii++)
-        {
-            char cc = (char) ii;
-            if (Character.getType(cc) == category)
-            {
-                rs.add(new CharRange(cc));
-            }
-        }
-        return rs;
+        return UnicodeTables.category(category);
     }
     @Rules({
     @Rule({"combiningSpacingMark"}),
@@ -1044,9 +1055,38 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
     {
         return cc - 'A' + 1;
     }
+    /**
+     * Literal collects knowledge of literal parts of expression.
+     *
+     * <p>For each sub expression is tracked a literal that equals the whole
+     * match (exact), literal every match starts with (prefix), literal every
+     * match ends with (suffix) and literal every match contains (required).
+     * Unknown parts are empty strings. Literals longer than 256 characters
+     * are truncated so that they stay true for every match.
+     */
     public static class Literal
     {
+        private static final int MAX_LENGTH = 256;
         private boolean literal = true;
+        private boolean boundary;
+        private Map<Object,Factor> factors;
+        private Factor factor = Factor.NONE;
+
+        public Literal()
+        {
+            this(false);
+        }
+        /**
+         * @param analyze If true, prefix, suffix and required literals are
+         * tracked. Otherwise only isLiteral and hasBoundary are valid.
+         */
+        Literal(boolean analyze)
+        {
+            if (analyze)
+            {
+                factors = new IdentityHashMap<>();
+            }
+        }
 
         public boolean isLiteral()
         {
@@ -1057,6 +1097,569 @@ public abstract class RegexGrammar<T> implements RegexParserIntf<T>
         {
             this.literal = literal;
         }
+        /**
+         * Returns true if expression contains boundary matchers like ^ or \b.
+         * Such expressions depend on text around the match.
+         * @return
+         */
+        public boolean hasBoundary()
+        {
+            return boundary;
+        }
+
+        public void setBoundary(boolean boundary)
+        {
+            this.boundary = boundary;
+        }
+        /**
+         * Returns the only string expression matches or null.
+         * @return
+         */
+        public String getExact()
+        {
+            return factor.exact;
+        }
+        /**
+         * Returns literal every match starts with. Empty if not known.
+         * @return
+         */
+        public String getPrefix()
+        {
+            return factor.prefix;
+        }
+        /**
+         * Returns literal every match ends with. Empty if not known.
+         * @return
+         */
+        public String getSuffix()
+        {
+            return factor.suffix;
+        }
+        /**
+         * Returns longest known literal every match contains. Empty if not
+         * known.
+         * @return
+         */
+        public String getRequired()
+        {
+            return factor.required;
+        }
+        void setRoot(Object root)
+        {
+            if (factors != null)
+            {
+                factor = get(root);
+                factors = null;
+            }
+        }
+        void character(RangeSet rs, int cc)
+        {
+            if (factors != null)
+            {
+                factors.put(rs, Factor.of(new String(Character.toChars(cc))));
+            }
+        }
+        void remove(Object key)
+        {
+            if (factors != null)
+            {
+                factors.remove(key);
+            }
+        }
+        void concat(Object branch, Object piece)
+        {
+            if (factors != null)
+            {
+                factors.put(branch, get(branch).concat(get(piece)));
+                factors.remove(piece);
+            }
+        }
+        void union(Object result, Object branch1, Object branch2)
+        {
+            if (factors != null)
+            {
+                factors.put(result, get(branch1).union(get(branch2)));
+                factors.remove(branch1);
+                factors.remove(branch2);
+            }
+        }
+        void repeat(Object result, Object atom, Quantifier quantifier)
+        {
+            if (factors != null)
+            {
+                Factor f = get(atom).repeat(quantifier.getMin(), quantifier.getMax());
+                factors.remove(atom);
+                factors.put(result, f);
+            }
+        }
+        private Factor get(Object key)
+        {
+            return factors.getOrDefault(key, Factor.NONE);
+        }
+        private static class Factor
+        {
+            private static final Factor NONE = new Factor(null, "", "", "");
+            private static final Factor EMPTY = of("");
+            private final String exact;
+            private final String prefix;
+            private final String suffix;
+            private final String required;
+
+            private Factor(String exact, String prefix, String suffix, String required)
+            {
+                this.exact = exact;
+                this.prefix = head(prefix);
+                this.suffix = tail(suffix);
+                this.required = head(required);
+            }
+            private static Factor of(String exact)
+            {
+                return new Factor(exact, exact, exact, exact);
+            }
+            private Factor concat(Factor other)
+            {
+                if (exact != null && other.exact != null && exact.length()+other.exact.length() <= MAX_LENGTH)
+                {
+                    return of(exact+other.exact);
+                }
+                String p = exact != null ? exact+other.prefix : prefix;
+                String s = other.exact != null ? suffix+other.exact : other.suffix;
+                String r = longest(required, other.required, suffix+other.prefix);
+                return new Factor(null, p, s, longest(r, p, s));
+            }
+            private Factor union(Factor other)
+            {
+                if (exact != null && exact.equals(other.exact))
+                {
+                    return this;
+                }
+                String p = commonPrefix(prefix, other.prefix);
+                String s = commonSuffix(suffix, other.suffix);
+                String r = required.equals(other.required) ? required : "";
+                return new Factor(null, p, s, longest(r, p, s));
+            }
+            private Factor repeat(int min, int max)
+            {
+                if (min == 1 && max == 1)
+                {
+                    return this;
+                }
+                if (max == 0)
+                {
+                    return EMPTY;
+                }
+                if (min == 0)
+                {
+                    return NONE;
+                }
+                if (exact != null && min == max && exact.length()*min <= MAX_LENGTH)
+                {
+                    StringBuilder sb = new StringBuilder();
+                    for (int ii=0;ii<min;ii++)
+                    {
+                        sb.append(exact);
+                    }
+                    return of(sb.toString());
+                }
+                return new Factor(null, prefix, suffix, required);
+            }
+            private static String head(String s)
+            {
+                return s.length() > MAX_LENGTH ? s.substring(0, MAX_LENGTH) : s;
+            }
+            private static String tail(String s)
+            {
+                return s.length() > MAX_LENGTH ? s.substring(s.length()-MAX_LENGTH) : s;
+            }
+            private static String longest(String... strings)
+            {
+                String l = "";
+                for (String s : strings)
+                {
+                    if (s.length() > l.length())
+                    {
+                        l = s;
+                    }
+                }
+                return l;
+            }
+            private static String commonPrefix(String s1, String s2)
+            {
+                int len = Math.min(s1.length(), s2.length());
+                int ii=0;
+                while (ii < len && s1.charAt(ii) == s2.charAt(ii))
+                {
+                    ii++;
+                }
+                return s1.substring(0, ii);
+            }
+            private static String commonSuffix(String s1, String s2)
+            {
+                int l1 = s1.length();
+                int l2 = s2.length();
+                int len = Math.min(l1, l2);
+                int ii=0;
+                while (ii < len && s1.charAt(l1-ii-1) == s2.charAt(l2-ii-1))
+                {
+                    ii++;
+                }
+                return s1.substring(l1-ii);
+            }
+        }
+    }
+    /**
+     * Profile collects statistics of NFA construction.
+     *
+     * <p>NFA state count is estimated when NFA's are created. Range NFA has
+     * two states, copy has as many states as the original and union adds two
+     * states. Epsilon transitions added in star and opt are not counted.
+     *
+     * <p>Estimated NFA states and parse time are checked against limits
+     * while NFA is built. Repetitions are checked before copies are made.
+     * Limits of compiled expressions are set with system properties
+     * org.vesalainen.regex.maxNFAStates and org.vesalainen.regex.maxParseMillis.
+     * Default is no limit.
+     */
+    public static class Profile
+    {
+        static final int MAX_NFA_STATES = Integer.getInteger("org.vesalainen.regex.maxNFAStates", Integer.MAX_VALUE);
+        static final long MAX_PARSE_MILLIS = Long.getLong("org.vesalainen.regex.maxParseMillis", Long.MAX_VALUE);
+        private final String expression;
+        private final long start = System.nanoTime();
+        private final int stateLimit;
+        private final long timeLimit;
+        private long parseNanos;
+        private int nfaStates;
+        private int nfaCopies;
+        private int ranges;
+        private Map<Object,Integer> sizes = new IdentityHashMap<>();
+        private int group;
+        private int atom;
+
+        public Profile(String expression)
+        {
+            this(expression, MAX_NFA_STATES, MAX_PARSE_MILLIS);
+        }
+        /**
+         * Creates profile with limits.
+         * @param expression
+         * @param maxNFAStates Maximum estimated NFA states
+         * @param maxParseMillis Maximum time of parsing
+         */
+        public Profile(String expression, int maxNFAStates, long maxParseMillis)
+        {
+            this.expression = expression;
+            this.stateLimit = maxNFAStates;
+            this.timeLimit = maxParseMillis;
+        }
+
+        public int getMaxNFAStates()
+        {
+            return stateLimit;
+        }
+
+        public long getMaxParseMillis()
+        {
+            return timeLimit;
+        }
+
+        public String getExpression()
+        {
+            return expression;
+        }
+        /**
+         * Returns time spent in parsing expression and building NFA.
+         * @return
+         */
+        public long getParseNanos()
+        {
+            return parseNanos;
+        }
+
+        void setParseNanos(long parseNanos)
+        {
+            this.parseNanos = parseNanos;
+            sizes = null;
+        }
+        /**
+         * Returns estimated number of created NFA states.
+         * @return
+         */
+        public int getNFAStates()
+        {
+            return nfaStates;
+        }
+        /**
+         * Returns number of sub expression NFA copies made for repetition.
+         * @return
+         */
+        public int getNFACopies()
+        {
+            return nfaCopies;
+        }
+        /**
+         * Returns number of range NFA's.
+         * @return
+         */
+        public int getRanges()
+        {
+            return ranges;
+        }
+        <N> N create(N nfa)
+        {
+            ranges++;
+            add(nfa, 2);
+            return nfa;
+        }
+        <N> N copy(N copy, Object nfa)
+        {
+            nfaCopies++;
+            add(copy, size(nfa));
+            return copy;
+        }
+        void union(Object result, Object branch1, Object branch2)
+        {
+            int size = size(branch1)+size(branch2);
+            sizes.remove(branch1);
+            sizes.remove(branch2);
+            sizes.put(result, size);
+            add(result, 2);
+        }
+        void concat(Object branch, Object piece)
+        {
+            sizes.put(branch, size(branch)+size(piece));
+            sizes.remove(piece);
+        }
+        int size(Object nfa)
+        {
+            return sizes.getOrDefault(nfa, 0);
+        }
+        private void add(Object nfa, int states)
+        {
+            check(states);
+            sizes.put(nfa, size(nfa)+states);
+            nfaStates += states;
+        }
+        /**
+         * Returns source text of span or def if not found.
+         * @param spans Start and end pairs
+         * @param index
+         * @param def
+         * @return
+         */
+        private String source(int[] spans, int index, String def)
+        {
+            if (2*index < spans.length)
+            {
+                return expression.substring(spans[2*index], spans[2*index+1]);
+            }
+            return def;
+        }
+        /**
+         * Returns start and end pairs of groups in the order of their closing
+         * parentheses. End is exclusive.
+         * @param expression
+         * @return
+         */
+        static int[] groups(String expression)
+        {
+            int length = expression.length();
+            int[] stack = new int[length];
+            int top = 0;
+            int[] groups = new int[length];
+            int count = 0;
+            int ii = 0;
+            while (ii < length)
+            {
+                switch (expression.charAt(ii))
+                {
+                    case '\\':
+                        // control escape \cX has one more char
+                        if (ii+1 < length && expression.charAt(ii+1) == 'c')
+                        {
+                            ii++;
+                        }
+                        ii++;
+                        break;
+                    case '(':
+                        stack[top++] = ii;
+                        break;
+                    case ')':
+                        if (top > 0)
+                        {
+                            groups[count++] = stack[--top];
+                            groups[count++] = ii+1;
+                        }
+                        break;
+                }
+                ii++;
+            }
+            return Arrays.copyOf(groups, count);
+        }
+        /**
+         * Returns start and end pairs of atoms in source order. Parentheses,
+         * alternation and quantifiers are not part of atoms. End is
+         * exclusive.
+         * @param expression
+         * @return
+         */
+        static int[] atoms(String expression)
+        {
+            int length = expression.length();
+            int[] atoms = new int[2*length];
+            int count = 0;
+            int ii = 0;
+            while (ii < length)
+            {
+                int start = ii;
+                switch (expression.charAt(ii))
+                {
+                    case '(':
+                    case ')':
+                    case '|':
+                    case '*':
+                    case '+':
+                    case '?':
+                        ii++;
+                        continue;
+                    case '{':
+                        ii = skip(expression, ii, '}');
+                        continue;
+                    case '[':
+                        ii = bracket(expression, ii);
+                        break;
+                    case '\\':
+                        ii = escape(expression, ii);
+                        break;
+                    default:
+                        ii++;
+                        break;
+                }
+                atoms[count++] = start;
+                atoms[count++] = ii;
+            }
+            return Arrays.copyOf(atoms, count);
+        }
+        private static int bracket(String expression, int ii)
+        {
+            int length = expression.length();
+            int depth = 0;
+            while (ii < length)
+            {
+                switch (expression.charAt(ii))
+                {
+                    case '\\':
+                        ii = escape(expression, ii);
+                        continue;
+                    case '[':
+                        depth++;
+                        break;
+                    case ']':
+                        depth--;
+                        if (depth == 0)
+                        {
+                            return ii+1;
+                        }
+                        break;
+                }
+                ii++;
+            }
+            return length;
+        }
+        private static int escape(String expression, int ii)
+        {
+            int length = expression.length();
+            if (ii+1 >= length)
+            {
+                return length;
+            }
+            switch (expression.charAt(ii+1))
+            {
+                case 'c':
+                    return Math.min(length, ii+3);
+                case 'p':
+                case 'P':
+                    return skip(expression, ii, '}');
+                case 'x':
+                    if (ii+2 < length && expression.charAt(ii+2) == '{')
+                    {
+                        return skip(expression, ii, '}');
+                    }
+                    return Math.min(length, ii+4);
+                case 'u':
+                    return Math.min(length, ii+6);
+                case '0':
+                    int end = ii+2;
+                    int max = ii+4;
+                    if (end < length && expression.charAt(end) >= '0' && expression.charAt(end) <= '3')
+                    {
+                        max = ii+5;
+                    }
+                    while (end < max && end < length && expression.charAt(end) >= '0' && expression.charAt(end) <= '7')
+                    {
+                        end++;
+                    }
+                    return end;
+                default:
+                    return ii+2;
+            }
+        }
+        private static int skip(String expression, int ii, char cc)
+        {
+            int idx = expression.indexOf(cc, ii);
+            return idx != -1 ? idx+1 : expression.length();
+        }
+        /**
+         * Checks limits before making copies of sub expression. Groups are
+         * checked in the order of their closing parentheses and atoms in
+         * source order. Error message contains source text of sub expression.
+         * @param copies Number of copies
+         * @param nfa Group NFA or null for atom
+         * @param quantifier
+         */
+        void checkRepeat(int copies, Object nfa, Quantifier quantifier)
+        {
+            int index = nfa != null ? group++ : atom++;
+            long size = nfa != null ? size(nfa) : 2;
+            String error = exceeds(copies*size);
+            if (error != null)
+            {
+                String text = nfa != null ? source(groups(expression), index, "group") : source(atoms(expression), index, "atom");
+                throw new RegexLimitException(error+" in repeating "+text+" {"+quantifier.getMin()+","+(quantifier.getMax() == Integer.MAX_VALUE ? "" : quantifier.getMax())+"} of "+size+" states");
+            }
+        }
+        private void check(long states)
+        {
+            String error = exceeds(states);
+            if (error != null)
+            {
+                throw new RegexLimitException(error);
+            }
+        }
+        /**
+         * Returns error message if adding states exceeds limits or null.
+         * @param states
+         * @return
+         */
+        private String exceeds(long states)
+        {
+            if (nfaStates+states > stateLimit)
+            {
+                return expression+": NFA states "+(nfaStates+states)+" > "+stateLimit;
+            }
+            long millis = (System.nanoTime()-start)/1000000;
+            if (millis > timeLimit)
+            {
+                return expression+": parse time "+millis+" ms > "+timeLimit+" ms";
+            }
+            return null;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Profile{" + "expression=" + expression + ", parseNanos=" + parseNanos + ", nfaStates=" + nfaStates + ", nfaCopies=" + nfaCopies + ", ranges=" + ranges + '}';
+        }
 
     }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.impl;
+
+import java.lang.Character.UnicodeBlock;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntPredicate;
+import org.vesalainen.regex.RangeSet;
+
+/**
+ * UnicodeTables contains code point interval tables for unicode character
+ * classes.
+ *
+ * <p>Each table is created once when first needed and shared by all
+ * compilations. Table is an int array of start and end pairs where end is
+ * exclusive. Adjacent code points are merged to one interval.
+ *
+ * <p>Tables cover chars from 0 to Character.MAX_VALUE. Supplementary
+ * code points are not included.
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+final class UnicodeTables
+{
+    private static final ConcurrentMap<String,int[]> TABLES = new ConcurrentHashMap<>();
+
+    private UnicodeTables()
+    {
+    }
+
+    static RangeSet lowerCase()
+    {
+        return rangeSet("javaLowerCase", Character::isLowerCase);
+    }
+    static RangeSet upperCase()
+    {
+        return rangeSet("javaUpperCase", Character::isUpperCase);
+    }
+    static RangeSet whitespace()
+    {
+        return rangeSet("javaWhitespace", Character::isWhitespace);
+    }
+    static RangeSet mirrored()
+    {
+        return rangeSet("javaMirrored", Character::isMirrored);
+    }
+    static RangeSet letter()
+    {
+        return rangeSet("L", Character::isLetter);
+    }
+    /**
+     * Returns code points of unicode block
+     * @param blockName
+     * @return
+     * @throws IllegalArgumentException if blockName is not a known block.
+     * @see java.lang.Character.UnicodeBlock#forName(java.lang.String)
+     */
+    static RangeSet block(String blockName)
+    {
+        UnicodeBlock block = UnicodeBlock.forName(blockName);
+        return rangeSet("In"+block, (cp)->block.equals(UnicodeBlock.of(cp)));
+    }
+    /**
+     * Returns code points of general category
+     * @param category
+     * @return
+     * @see java.lang.Character#getType(int)
+     */
+    static RangeSet category(int category)
+    {
+        return rangeSet("Is"+category, (cp)->Character.getType(cp) == category);
+    }
+    /**
+     * Returns new RangeSet containing table intervals. RangeSet is new
+     * because RangeSet's are modified in parsing.
+     * @param name
+     * @param predicate
+     * @return
+     */
+    private static RangeSet rangeSet(String name, IntPredicate predicate)
+    {
+        int[] table = table(name, predicate);
+        RangeSet rs = new RangeSet();
+        for (int ii=0;ii<table.length;ii+=2)
+        {
+            rs.add(table[ii], table[ii+1]);
+        }
+        return rs;
+    }
+    static int[] table(String name, IntPredicate predicate)
+    {
+        return TABLES.computeIfAbsent(name, (n)->create(predicate));
+    }
+    /**
+     * Creates interval table of chars accepted by predicate.
+     * @param predicate
+     * @return
+     */
+    static int[] create(IntPredicate predicate)
+    {
+        int[] table = new int[64];
+        int length = 0;
+        int cp = 0;
+        while (cp <= Character.MAX_VALUE)
+        {
+            if (predicate.test(cp))
+            {
+                int start = cp;
+                cp++;
+                while (cp <= Character.MAX_VALUE && predicate.test(cp))
+                {
+                    cp++;
+                }
+                if (length == table.length)
+                {
+                    table = Arrays.copyOf(table, 2*length);
+                }
+                table[length++] = start;
+                table[length++] = cp;
+            }
+            cp++;
+        }
+        return Arrays.copyOf(table, length);
+    }
+    /**
+     * Returns true if table contains code point.
+     * @param table
+     * @param cp
+     * @return
+     */
+    static boolean contains(int[] table, int cp)
+    {
+        int idx = Arrays.binarySearch(table, cp);
+        if (idx >= 0)
+        {
+            return (idx % 2) == 0;
+        }
+        else
+        {
+            return ((-idx-1) % 2) == 1;
+        }
+    }
+}
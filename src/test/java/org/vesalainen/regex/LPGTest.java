@@ -2584,4 +2584,59 @@ public class LPGTest
             fail(ex.getMessage());
         }
     }
+    @Test
+    public void test86()
+    {
+        try
+        {
+            String exp = "((a|b)c){2,4}";
+            System.out.println(exp);
+
+            Regex r = Regex.compile(exp);
+
+            assertFalse(r.isMatch("ac"));
+            assertTrue(r.isMatch("acbc"));
+            assertTrue(r.isMatch("acbcac"));
+            assertTrue(r.isMatch("acbcacbc"));
+            assertFalse(r.isMatch("acbcacbcac"));
+            assertFalse(r.isMatch("acbcc"));
+            assertEquals(4, r.getMinLength());
+            assertEquals(8, r.getMaxLength());
+        }
+        catch (SyntaxErrorException ex)
+        {
+            fail(ex.getMessage());
+        }
+        catch (IOException ex)
+        {
+            fail(ex.getMessage());
+        }
+    }
+    @Test
+    public void test87()
+    {
+        try
+        {
+            String exp = "(ab)(c(d)?)*e";
+            System.out.println(exp);
+
+            Regex r = Regex.compile(exp);
+
+            assertTrue(r.isMatch("abe"));
+            assertTrue(r.isMatch("abce"));
+            assertTrue(r.isMatch("abcdcce"));
+            assertFalse(r.isMatch("abde"));
+            assertFalse(r.isMatch("ab"));
+            assertEquals(3, r.getMinLength());
+            assertEquals(Integer.MAX_VALUE, r.getMaxLength());
+        }
+        catch (SyntaxErrorException ex)
+        {
+            fail(ex.getMessage());
+        }
+        catch (IOException ex)
+        {
+            fail(ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.vesalainen.regex.Regex;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class ByteBufferCharSequenceTest
+{
+    
+    public ByteBufferCharSequenceTest()
+    {
+    }
+
+    @Test
+    public void test1() throws Exception
+    {
+        ByteBuffer bb = ByteBuffer.allocateDirect(64);
+        bb.put("xx GET /index.html yy".getBytes(StandardCharsets.US_ASCII));
+        bb.flip();
+        bb.position(3);
+        assertTrue(ByteBufferCharSequence.isAscii(bb));
+        ByteBufferCharSequence seq = new ByteBufferCharSequence(bb);
+        assertEquals("GET /index.html yy", seq.toString());
+        assertEquals("index", seq.subSequence(5, 10).toString());
+        Regex regex = Regex.compile("/[a-z]+\\.html");
+        assertEquals("/index.html", regex.find(seq));
+        assertTrue(regex.isMatch(seq.subSequence(4, 15)));
+        assertFalse(ByteBufferCharSequence.isAscii(ByteBuffer.wrap("\u00e4".getBytes(StandardCharsets.UTF_8))));
+        assertEquals("\u00e4", new ByteBufferCharSequence("\u00e4".getBytes(StandardCharsets.ISO_8859_1)).toString());
+    }
+}
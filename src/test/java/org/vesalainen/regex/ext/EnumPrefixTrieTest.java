@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import static java.time.DayOfWeek.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.vesalainen.regex.Regex;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class EnumPrefixTrieTest
+{
+    
+    public EnumPrefixTrieTest()
+    {
+    }
+
+    @Test
+    public void test1()
+    {
+        EnumPrefixTrie<DayOfWeek> et = new EnumPrefixTrie<>(DayOfWeek.class, Regex.Option.CASE_INSENSITIVE);
+        assertEquals(WEDNESDAY, et.find("Wed"));
+        assertEquals(WEDNESDAY, et.find("Wednesday"));
+        assertNull(et.find("Maanantai"));
+        assertNull(et.find("LAUANTAI"));
+        assertNull(et.find("Wednesdays"));
+        String text = "date: Tue 12";
+        assertEquals(TUESDAY, et.find(text, 6, 9));
+        byte[] buf = text.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(TUESDAY, et.find(buf, 6, 3));
+        assertEquals(EnumPrefixTrie.AMBIGUOUS, et.index(buf, 6, 1));
+        assertEquals(EnumPrefixTrie.NOT_FOUND, et.index(buf, 0, 4));
+        assertEquals(TUESDAY.ordinal(), et.index(buf, 6, 2));
+    }
+    @Test
+    public void test2()
+    {
+        EnumPrefixTrie<DayOfWeek> et = new EnumPrefixTrie<>(false, SATURDAY, SUNDAY);
+        assertEquals(SUNDAY, et.find("SUN"));
+        assertNull(et.find("MONDAY"));
+        assertNull(et.find("Sun"));
+        assertNull(et.find("S"));
+        assertEquals(EnumPrefixTrie.AMBIGUOUS, et.index("S", 0, 1));
+        assertEquals(SATURDAY, et.constant(et.index("SA", 0, 2)));
+        assertEquals(0, et.index("SA", 0, 2));
+        et = new EnumPrefixTrie<>(false, SUNDAY, MONDAY);
+        assertEquals(0, et.index("SU", 0, 2));
+        assertEquals(SUNDAY, et.constant(et.index("SU", 0, 2)));
+        assertEquals(MONDAY, et.find("MO"));
+    }
+}
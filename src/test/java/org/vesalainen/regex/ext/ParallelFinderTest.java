@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.vesalainen.regex.Regex;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class ParallelFinderTest
+{
+    
+    public ParallelFinderTest()
+    {
+    }
+
+    @Test
+    public void test1() throws Exception
+    {
+        Random random = new Random(12345);
+        StringBuilder sb = new StringBuilder();
+        for (int ii=0;ii<10000;ii++)
+        {
+            sb.append((char)('a'+random.nextInt(3)));
+        }
+        String text = sb.toString();
+        Regex regex = Regex.compile("(ab){1,4}|a[bc]{2}");
+        List<String> expected = new ArrayList<>();
+        int pos = 0;
+        while (true)
+        {
+            String match = regex.find(text.subSequence(pos, text.length()));
+            if (match == null)
+            {
+                break;
+            }
+            int idx = text.indexOf(match, pos);
+            expected.add(match+"@"+idx);
+            pos = idx + match.length();
+        }
+        for (int chunkSize : new int[] {1, 7, 100, 4096, 20000})
+        {
+            ParallelFinder pf = new ParallelFinder(regex, chunkSize);
+            List<String> list = new ArrayList<>();
+            assertEquals(expected.size(), pf.find(text, (s,p)->list.add(s+"@"+p)));
+            assertEquals(expected, list);
+        }
+    }
+}
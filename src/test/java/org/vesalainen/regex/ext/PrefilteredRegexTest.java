@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.vesalainen.regex.Regex.Option;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class PrefilteredRegexTest
+{
+    
+    public PrefilteredRegexTest()
+    {
+    }
+
+    @Test
+    public void test1() throws Exception
+    {
+        PrefilteredRegex pr = PrefilteredRegex.compile("ERROR [0-9]+ failed");
+        assertEquals("ERROR ", pr.getPrefix());
+        assertEquals(" failed", pr.getRequired());
+        assertTrue(pr.isMatch("ERROR 12 failed"));
+        assertFalse(pr.isMatch("WARN 12 failed"));
+        assertFalse(pr.isMatch("ERROR 12 done"));
+        assertEquals("ERROR 7 failed", pr.find("xx ERROR 7 failed yy"));
+        assertEquals("ERROR 7 failed", pr.find("ERROR x ERROR 7 failed"));
+        assertNull(pr.find("xx ERROR 7 done yy"));
+    }
+    @Test
+    public void test2() throws Exception
+    {
+        PrefilteredRegex pr = PrefilteredRegex.compile("(foo|foobar)baz");
+        assertEquals("foo", pr.getPrefix());
+        assertEquals("foo", pr.getRequired());
+        assertTrue(pr.isMatch("foobarbaz"));
+        assertEquals("foobaz", pr.find("fofoobaz"));
+        pr = PrefilteredRegex.compile("[a-z]+\\.(txt|text)");
+        assertNull(pr.getPrefix());
+        assertEquals("xt", pr.getRequired());
+        assertEquals("a.txt", pr.find("x a.txt"));
+        pr = PrefilteredRegex.compile("ab{3}c");
+        assertEquals("abbbc", pr.getRequired());
+        assertEquals("abbbc", pr.find("abbc abbbc"));
+    }
+    @Test
+    public void test3() throws Exception
+    {
+        try
+        {
+            PrefilteredRegex.compile("^abc");
+            fail("boundary matcher");
+        }
+        catch (IllegalArgumentException ex)
+        {
+        }
+        PrefilteredRegex pr = PrefilteredRegex.compile("abc", Option.CASE_INSENSITIVE);
+        assertNull(pr.getRequired());
+        assertTrue(pr.isMatch("ABC"));
+        pr = PrefilteredRegex.compile("a?b*|c");
+        assertNull(pr.getRequired());
+        assertTrue(pr.isMatch("abb"));
+    }
+    @Test
+    public void test4() throws Exception
+    {
+        PrefilteredRegex pr = PrefilteredRegex.compile("\\$GPRMC");
+        assertTrue(pr.isLiteral());
+        assertTrue(pr.isMatch("$GPRMC"));
+        assertFalse(pr.isMatch("$GPRMCX"));
+        assertEquals("$GPRMC", pr.find("xx$GPRMC,"));
+        assertNull(pr.find("xx$GPGLL,"));
+        assertTrue(pr.getRegex().isMatch("$GPRMC"));
+        assertFalse(PrefilteredRegex.compile("\\$GPRMC|\\$GPGLL").isLiteral());
+        assertFalse(PrefilteredRegex.compile("GPRMC", Option.ACCEPT_IMMEDIATELY).isLiteral());
+    }
+    @Test
+    public void test5() throws Exception
+    {
+        char[] buf = "xxERROR 42 failed ERROR 7 failedyy".toCharArray();
+        PrefilteredRegex pr = PrefilteredRegex.compile("ERROR [0-9]+ failed");
+        int[] bounds = new int[2];
+        assertTrue(pr.isMatch(buf, 2, 15));
+        assertFalse(pr.isMatch(buf, 2, 16));
+        assertEquals("ERROR 7 failed", pr.find(buf, 10, 22));
+        assertTrue(pr.find(buf, 10, 22, bounds));
+        assertEquals(8, bounds[0]);
+        assertEquals(22, bounds[1]);
+        assertFalse(pr.find(buf, 10, 21, bounds));
+        pr = PrefilteredRegex.compile("failed");
+        assertTrue(pr.find(buf, 3, 20, bounds));
+        assertEquals(8, bounds[0]);
+        assertEquals(14, bounds[1]);
+        pr = PrefilteredRegex.compile("error", Option.CASE_INSENSITIVE);
+        assertTrue(pr.find(buf, 3, 20, bounds));
+        assertEquals(15, bounds[0]);
+        assertEquals(20, bounds[1]);
+    }
+    @Test
+    public void test6() throws Exception
+    {
+        PrefilteredRegex pr = PrefilteredRegex.compile("ERROR [0-9]+");
+        assertEquals("ERROR 12", pr.lookingAt("ERROR 12 failed"));
+        assertNull(pr.lookingAt("WARN ERROR 12"));
+        char[] buf = "xxERROR 42 failed".toCharArray();
+        assertEquals(8, pr.lookingAt(buf, 2, 15));
+        assertEquals(-1, pr.lookingAt(buf, 0, 17));
+        pr = PrefilteredRegex.compile("failed");
+        assertEquals(6, pr.lookingAt(buf, 11, 6));
+        assertEquals(-1, pr.lookingAt(buf, 10, 7));
+    }
+    @Test
+    public void test7() throws Exception
+    {
+        int[] bounds = new int[8];
+        PrefilteredRegex pr = PrefilteredRegex.compile(", *");
+        assertEquals(3, pr.split("a, b,c", bounds));
+        assertArrayEquals(new int[]{0, 1, 3, 4, 5, 6}, Arrays.copyOf(bounds, 6));
+        assertEquals(3, pr.split("xa, b,cx".toCharArray(), 1, 6, bounds));
+        assertArrayEquals(new int[]{0, 1, 3, 4, 5, 6}, Arrays.copyOf(bounds, 6));
+        pr = PrefilteredRegex.compile(":");
+        assertTrue(pr.isLiteral());
+        assertEquals(3, pr.split("boo:and:foo".toCharArray(), 0, 11, bounds));
+        assertArrayEquals(new int[]{0, 3, 4, 7, 8, 11}, Arrays.copyOf(bounds, 6));
+        bounds = new int[4];
+        assertEquals(2, pr.split("boo:and:foo", bounds));
+        assertArrayEquals(new int[]{0, 3, 4, 11}, bounds);
+        try
+        {
+            PrefilteredRegex.compile("a*").split("aa", bounds);
+            fail("empty match");
+        }
+        catch (IllegalArgumentException ex)
+        {
+        }
+    }
+    @Test
+    public void test8() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int ii=0;ii<30;ii++)
+        {
+            sb.append("abcdefghij");
+        }
+        String lit = sb.toString();
+        PrefilteredRegex pr = PrefilteredRegex.compile(lit+"[0-9]");
+        assertFalse(pr.isLiteral());
+        assertEquals(lit.substring(0, 256), pr.getPrefix());
+        assertEquals(256, pr.getRequired().length());
+        assertEquals(lit+"7", pr.find("xx"+lit+"7yy"));
+        assertNull(pr.find("xx"+lit+"yy"));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.Regex.Option;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class RegexCacheTest
+{
+    
+    public RegexCacheTest()
+    {
+    }
+
+    @Test
+    public void test1() throws Exception
+    {
+        RegexCache cache = new RegexCache(2);
+        Regex r1 = cache.get("[0-9]+");
+        assertSame(r1, cache.get("[0-9]+"));
+        assertTrue(r1.isMatch("123"));
+        Regex r2 = cache.get("abc", Option.CASE_INSENSITIVE, Option.ACCEPT_IMMEDIATELY);
+        assertSame(r2, cache.get("abc", Option.ACCEPT_IMMEDIATELY, Option.CASE_INSENSITIVE));
+        assertNotSame(r2, cache.get("abc"));
+        assertEquals(2, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.size());
+        assertNotSame(r1, cache.get("[0-9]+"));
+        assertEquals(2, cache.getEvictions());
+    }
+    @Test
+    public void test2() throws Exception
+    {
+        RegexCache.setEnabled(false);
+        assertNotSame(RegexCache.compile("a+"), RegexCache.compile("a+"));
+        RegexCache.setEnabled(true);
+        try
+        {
+            assertSame(RegexCache.compile("a+"), RegexCache.compile("a+"));
+        }
+        finally
+        {
+            RegexCache.setEnabled(false);
+        }
+    }
+    @Test
+    public void test3() throws Exception
+    {
+        int threads = 8;
+        RegexCache cache = new RegexCache(4);
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            List<Future<Regex>> futures = new ArrayList<>();
+            for (int ii=0;ii<threads;ii++)
+            {
+                futures.add(executor.submit(()->
+                {
+                    latch.await();
+                    return cache.get("[0-9]+\\.[0-9]+");
+                }));
+            }
+            latch.countDown();
+            Regex regex = futures.get(0).get();
+            for (Future<Regex> future : futures)
+            {
+                assertSame(regex, future.get());
+            }
+            assertEquals(1, cache.getMisses());
+            assertEquals(threads-1, cache.getHits());
+            assertEquals(1, cache.size());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
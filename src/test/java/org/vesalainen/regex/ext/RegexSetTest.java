@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.util.BitSet;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class RegexSetTest
+{
+    
+    public RegexSetTest()
+    {
+    }
+
+    @Test
+    public void test1() throws Exception
+    {
+        RegexSet set = RegexSet.compile(
+                "GET /[a-z]+",
+                "GET /index",
+                "[A-Z]+ /index",
+                "POST .*",
+                "[a-z]+"
+        );
+        assertEquals(5, set.size());
+        BitSet result = new BitSet();
+        assertEquals(3, set.match("GET /index", result));
+        assertTrue(result.get(0));
+        assertTrue(result.get(1));
+        assertTrue(result.get(2));
+        assertEquals(2, set.match("POST /index", result));
+        assertTrue(result.get(2));
+        assertTrue(result.get(3));
+        assertEquals(1, set.match("index", result));
+        assertTrue(result.get(4));
+        assertEquals(0, set.match("PUT x", result));
+        assertTrue(result.isEmpty());
+        assertTrue(set.isMatch("GET /x"));
+        assertFalse(set.isMatch(""));
+    }
+    @Test
+    public void test2() throws Exception
+    {
+        RegexSet set = RegexSet.compile(
+                "^GET .*",
+                "[A-Z]+ /index"
+        );
+        BitSet result = new BitSet();
+        assertEquals(2, set.match("GET /index", result));
+        assertEquals(1, set.match("POST /index", result));
+        assertTrue(result.get(1));
+        assertFalse(set.isMatch("get /index"));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.impl.RegexGrammar;
+import org.vesalainen.regex.impl.RegexGrammar.Profile;
+import org.vesalainen.regex.impl.RegexLimitException;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class RegexStatisticsTest
+{
+    
+    public RegexStatisticsTest()
+    {
+    }
+
+    @Test
+    public void test1() throws Exception
+    {
+        Profile profile = RegexGrammar.profile("(a|b){3}");
+        assertEquals(2, profile.getRanges());
+        assertEquals(3, profile.getNFACopies());
+        assertEquals(24, profile.getNFAStates());
+        assertTrue(profile.getParseNanos() > 0);
+    }
+    @Test
+    public void test2() throws Exception
+    {
+        RegexStatistics stats = RegexStatistics.getInstance();
+        RegexStatistics.setEnabled(true);
+        try
+        {
+            stats.reset();
+            Regex.compile("[0-9]{1,20}x");
+            Regex.compile("abc");
+            assertEquals(2, stats.getCount());
+            assertEquals("[0-9]{1,20}x", stats.getLargestProfiles().get(0).getExpression());
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName("org.vesalainen.regex.ext:type=RegexStatistics")));
+        }
+        finally
+        {
+            RegexStatistics.setEnabled(false);
+        }
+    }
+    @Test
+    public void test3() throws Exception
+    {
+        Profile profile = RegexGrammar.profile("(a|b){3}", 1000, Long.MAX_VALUE);
+        assertEquals(24, profile.getNFAStates());
+        assertEquals(1000, profile.getMaxNFAStates());
+        try
+        {
+            RegexGrammar.profile("((a|b){20}){30}", 1000, Long.MAX_VALUE);
+            fail();
+        }
+        catch (RegexLimitException ex)
+        {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("((a|b){20}) {30,30}"));
+        }
+        try
+        {
+            RegexGrammar.profile("x\\.[0-9a-f]{1,4096}", 1000, Long.MAX_VALUE);
+            fail();
+        }
+        catch (RegexLimitException ex)
+        {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("[0-9a-f] {1,4096}"));
+        }
+    }
+}
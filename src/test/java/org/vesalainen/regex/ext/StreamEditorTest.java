@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.vesalainen.regex.Regex;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class StreamEditorTest
+{
+    
+    public StreamEditorTest()
+    {
+    }
+
+    @Test
+    public void test1() throws Exception
+    {
+        String text = "qwertyabcccabccchhhabchhhabcc";
+        StreamEditor se = new StreamEditor(Regex.compile("abc{1,3}"), 13);
+        StringBuilder sb = new StringBuilder();
+        assertEquals(4, se.replace(text, sb, "X"));
+        assertEquals("qwertyXXhhhXhhhX", sb.toString());
+        StringWriter sw = new StringWriter();
+        se.replace(new StringReader(text), sw, "X");
+        assertEquals("qwertyXXhhhXhhhX", sw.toString());
+        se = new StreamEditor(Regex.compile("abc+"), 13);
+        sb.setLength(0);
+        se.replace(new StringReader(text), sb, "X");
+        assertEquals("qwertyXXhhhXhhhX", sb.toString());
+    }
+    @Test
+    public void test2() throws Exception
+    {
+        String text = "boo:and:foo";
+        Regex regex = Regex.compile("o");
+        List<String> expected = Arrays.asList("b", "", ":and:f", "", "");
+        StreamEditor se = new StreamEditor(regex, 16);
+        List<String> list = new ArrayList<>();
+        assertEquals(5, se.split(text, (s)->list.add(s.toString())));
+        assertEquals(expected, list);
+    }
+    @Test
+    public void test3() throws Exception
+    {
+        String text = "boo:and:foo";
+        StreamEditor se = new StreamEditor(Regex.compile(":"), 16);
+        int[] bounds = new int[4];
+        assertEquals(2, se.split(text, bounds));
+        assertEquals("boo", text.substring(bounds[0], bounds[1]));
+        assertEquals("and:foo", text.substring(bounds[2], bounds[3]));
+        bounds = new int[8];
+        assertEquals(3, se.split(text, bounds));
+        assertEquals("foo", text.substring(bounds[4], bounds[5]));
+    }
+    @Test
+    public void test4() throws Exception
+    {
+        String text = "a,  b,c ,d";
+        StreamEditor se = new StreamEditor(Regex.compile(",\\s*"), 16);
+        List<String> list = new ArrayList<>();
+        assertEquals(4, se.split(text, (s)->list.add(s.toString())));
+        assertEquals(Arrays.asList("a", "b", "c ", "d"), list);
+        StringBuilder sb = new StringBuilder();
+        assertEquals(2, new StreamEditor(Regex.compile("\\s+"), 16).replace(text, sb, " "));
+        assertEquals("a, b,c ,d", sb.toString());
+    }
+}
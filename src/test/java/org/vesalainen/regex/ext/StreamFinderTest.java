@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.vesalainen.regex.Regex;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class StreamFinderTest
+{
+    
+    public StreamFinderTest()
+    {
+    }
+
+    @Test
+    public void test1() throws Exception
+    {
+        String text = "ERROR 1 \u00e4\u00e4 ERROR 22 \u20ac ERROR 333\n";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        List<String> expected = new ArrayList<>();
+        expected.add("ERROR 1@0");
+        expected.add("ERROR 22@"+"ERROR 1 \u00e4\u00e4 ".getBytes(StandardCharsets.UTF_8).length);
+        expected.add("ERROR 333@"+"ERROR 1 \u00e4\u00e4 ERROR 22 \u20ac ".getBytes(StandardCharsets.UTF_8).length);
+        Regex regex = Regex.compile("ERROR [0-9]{1,3}");
+        for (int chunkSize=1;chunkSize<20;chunkSize++)
+        {
+            StreamFinder sf = new StreamFinder(regex, StandardCharsets.UTF_8, chunkSize);
+            List<String> list = new ArrayList<>();
+            assertEquals(3, sf.find(new ByteArrayInputStream(bytes), (s,p)->list.add(s+"@"+p)));
+            assertEquals(expected, list);
+            list.clear();
+            assertEquals(3, sf.find(ByteBuffer.wrap(bytes), (s,p)->list.add(s+"@"+p)));
+            assertEquals(expected, list);
+        }
+    }
+    @Test
+    public void test2() throws Exception
+    {
+        try
+        {
+            new StreamFinder(Regex.compile("a+"), StandardCharsets.UTF_8, 16);
+            fail();
+        }
+        catch (IllegalArgumentException ex)
+        {
+        }
+        try
+        {
+            new StreamFinder(Regex.compile("\\bab"), StandardCharsets.UTF_8, 16);
+            fail();
+        }
+        catch (IllegalArgumentException ex)
+        {
+        }
+    }
+}
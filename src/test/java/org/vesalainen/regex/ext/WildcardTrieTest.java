@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.ext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class WildcardTrieTest
+{
+    
+    public WildcardTrieTest()
+    {
+    }
+
+    @Test
+    public void test1()
+    {
+        WildcardTrie<String> wt = new WildcardTrie<>();
+        wt.addExpression("$??RMC", "rmc");
+        wt.addExpression("$GPGLL", "gpgll");
+        wt.addExpression("$HCHDT", "hdt");
+        wt.addExpression("$GP*", "gp");
+        wt.addExpression("*", "all");
+        wt.compile();
+        assertEquals(Arrays.asList("gpgll", "gp", "all"), wt.match("$GPGLL"));
+        assertEquals(Arrays.asList("rmc", "gp", "all"), wt.match("$GPRMC"));
+        assertEquals(Arrays.asList("rmc", "all"), wt.match("$IIRMC"));
+        assertEquals(Arrays.asList("all"), wt.match("$HCHD"));
+        assertEquals(Arrays.asList("all"), wt.match(""));
+    }
+    @Test
+    public void test2()
+    {
+        WildcardTrie<Integer> wt = new WildcardTrie<>(2);
+        wt.addExpression("a*b*c", 1);
+        wt.addExpression("a**c", 2);
+        wt.addExpression("a?c", 3);
+        wt.compile();
+        assertEquals(Arrays.asList(1, 2, 3), wt.match("abc"));
+        assertEquals(Arrays.asList(1, 2), wt.match("axxbyybc"));
+        assertEquals(Arrays.asList(2), wt.match("ac"));
+        assertEquals(Arrays.asList(2, 3), wt.match("a\u00e4c"));
+        assertEquals(Collections.emptyList(), wt.match("abcd"));
+        assertTrue(wt.getStateCount() <= 3);
+    }
+    @Test
+    public void test3()
+    {
+        WildcardTrie<Integer> wt = new WildcardTrie<>();
+        for (int ii=0;ii<100000;ii++)
+        {
+            wt.addExpression("dev/"+ii+"/*", ii);
+        }
+        wt.compile();
+        assertEquals(Arrays.asList(12345), wt.match("dev/12345/temp"));
+        assertEquals(Collections.emptyList(), wt.match("dev/123456/temp"));
+    }
+    @Test
+    public void test4() throws Exception
+    {
+        WildcardTrie<Integer> wt = new WildcardTrie<>(50);
+        for (int ii=0;ii<1000;ii++)
+        {
+            wt.addExpression("$"+ii+"*", ii);
+        }
+        wt.compile();
+        WildcardTrie<Integer>.Cursor cursor = wt.cursor();
+        assertTrue(cursor.match('$'));
+        assertTrue(cursor.match('1'));
+        assertTrue(cursor.match('2'));
+        assertEquals(Arrays.asList(1, 12), cursor.getMatched());
+        cursor.clear();
+        assertFalse(cursor.match('x'));
+        assertFalse(cursor.match('$'));
+        assertEquals(Collections.emptyList(), cursor.getMatched());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try
+        {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int tt=0;tt<8;tt++)
+            {
+                final int seed = tt;
+                futures.add(executor.submit(()->
+                {
+                    WildcardTrie<Integer>.Cursor c = wt.cursor();
+                    for (int ii=0;ii<10000;ii++)
+                    {
+                        int nn = (ii*31+seed) % 1000;
+                        String text = "$"+nn+"x";
+                        if (!wt.match(text).contains(nn))
+                        {
+                            return false;
+                        }
+                        c.clear();
+                        for (int jj=0;jj<text.length();jj++)
+                        {
+                            c.match(text.charAt(jj));
+                        }
+                        if (!c.getMatched().equals(wt.match(text)))
+                        {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> f : futures)
+            {
+                assertTrue(f.get());
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+    @Test
+    public void test5()
+    {
+        WildcardTrie<String> wt = new WildcardTrie<>();
+        wt.addExpression("\"*\"", "quoted");
+        wt.addExpression("/?*?/", "comment");
+        wt.addExpression("--*\n", "line");
+        wt.compile();
+        StringBuilder sb = new StringBuilder();
+        for (int ii=0;ii<10000;ii++)
+        {
+            sb.append((char)('a'+ii%26));
+        }
+        String body = sb.toString();
+        assertEquals(Arrays.asList("quoted"), wt.match("\""+body+"\""));
+        assertEquals(Arrays.asList("quoted"), wt.match(new StringBuilder("\""+body+"\"")));
+        assertEquals(Collections.emptyList(), wt.match("\""+body+"\"x"));
+        assertEquals(Arrays.asList("quoted"), wt.match("\""+body+"\""+body+"\""));
+        assertEquals(Arrays.asList("comment"), wt.match("/*"+body+"*/"));
+        assertEquals(Collections.emptyList(), wt.match("/*"+body+"*/"+body));
+        assertEquals(Arrays.asList("line"), wt.match("--"+body+"\n"));
+        assertEquals(Collections.emptyList(), wt.match("--"+body));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.vesalainen.regex.Regex;
+import org.vesalainen.regex.Regex.Option;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class CaseFoldingTest
+{
+
+    public CaseFoldingTest()
+    {
+    }
+
+    @Test
+    public void testSingle()
+    {
+        int[] k = CaseFolding.fold('k', 'k');
+        assertTrue(UnicodeTables.contains(k, 'K'));
+        assertTrue(UnicodeTables.contains(k, 'k'));
+        assertTrue(UnicodeTables.contains(k, 0x212A));  // KELVIN SIGN
+        int[] s = CaseFolding.fold('S', 'S');
+        assertTrue(UnicodeTables.contains(s, 's'));
+        assertTrue(UnicodeTables.contains(s, 0x17F));  // LATIN SMALL LETTER LONG S
+        int[] dz = CaseFolding.fold(0x1C5, 0x1C5);
+        assertTrue(UnicodeTables.contains(dz, 0x1C4));
+        assertTrue(UnicodeTables.contains(dz, 0x1C6));
+        int[] one = CaseFolding.fold('1', '1');
+        assertArrayEquals(new int[]{'1', '2'}, one);
+    }
+    @Test
+    public void testRanges()
+    {
+        check('a', 'z');
+        check('A', 'F');
+        check(0x100, 0x17F);    // Latin Extended-A
+        check(0x370, 0x3FF);    // Greek
+        check(0x400, 0x4FF);    // Cyrillic
+        check(0x101, 0x104);
+        check(0x10400, 0x1044F);    // Deseret
+        check(0, Character.MAX_VALUE);
+    }
+    @Test
+    public void testCaseInsensitive() throws Exception
+    {
+        Regex regex = Regex.compile("[\\x{0}-\\x{ffff}]+", Option.CASE_INSENSITIVE);
+        assertTrue(regex.isMatch("aBc\u0391\u03b1"));
+        regex = Regex.compile("[\u0410-\u042f]+", Option.CASE_INSENSITIVE);
+        assertTrue(regex.isMatch("\u0430\u0410"));
+        regex = Regex.compile("k", Option.CASE_INSENSITIVE);
+        assertTrue(regex.isMatch("\u212A"));
+        assertTrue(regex.isMatch("K"));
+    }
+    private void check(int from, int to)
+    {
+        Set<Integer> folds = new HashSet<>();
+        for (int cp=from;cp<=to;cp++)
+        {
+            folds.add(CaseFolding.fold(cp));
+        }
+        int[] folded = CaseFolding.fold(from, to);
+        for (int cp=0;cp<=Character.MAX_CODE_POINT;cp++)
+        {
+            boolean expected = (cp >= from && cp <= to) || folds.contains(CaseFolding.fold(cp));
+            assertEquals(from+"-"+to+" "+cp, expected, UnicodeTables.contains(folded, cp));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Timo Vesalainen <timo.vesalainen@iki.fi>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.vesalainen.regex.impl;
+
+import java.lang.Character.UnicodeBlock;
+import java.util.function.IntPredicate;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.vesalainen.regex.Regex;
+
+/**
+ *
+ * @author Timo Vesalainen <timo.vesalainen@iki.fi>
+ */
+public class UnicodeTablesTest
+{
+
+    public UnicodeTablesTest()
+    {
+    }
+
+    @Test
+    public void testTables()
+    {
+        check("javaLowerCase", Character::isLowerCase);
+        check("javaUpperCase", Character::isUpperCase);
+        check("javaWhitespace", Character::isWhitespace);
+        check("javaMirrored", Character::isMirrored);
+        check("L", Character::isLetter);
+        check("Is"+Character.UPPERCASE_LETTER, (cp)->Character.getType(cp) == Character.UPPERCASE_LETTER);
+        check("In"+UnicodeBlock.GREEK, (cp)->UnicodeBlock.GREEK.equals(UnicodeBlock.of(cp)));
+    }
+    @Test
+    public void testBmp()
+    {
+        int[] table = UnicodeTables.table("L", Character::isLetter);
+        assertTrue(table[table.length-1] <= Character.MAX_VALUE+1);
+        assertFalse(UnicodeTables.contains(table, 0x10400));  // DESERET CAPITAL LETTER LONG I
+    }
+    @Test
+    public void testShared()
+    {
+        int[] t1 = UnicodeTables.table("javaMirrored", Character::isMirrored);
+        int[] t2 = UnicodeTables.table("javaMirrored", Character::isMirrored);
+        assertSame(t1, t2);
+    }
+    @Test
+    public void testCompile() throws Exception
+    {
+        assertTrue(Regex.compile("\\p{L}+").isMatch("abc\u00e4\u0391"));
+        assertFalse(Regex.compile("\\p{L}+").isMatch("abc1"));
+        assertTrue(Regex.compile("\\p{Lu}\\p{Ll}*").isMatch("\u0391\u03b1"));
+        assertTrue(Regex.compile("\\p{InGreek}+\\p{javaWhitespace}\\p{javaLowerCase}").isMatch("\u0391\u03b1 a"));
+        assertTrue(Regex.compile("[\\p{javaMirrored}\\p{L}]+").isMatch("(\u0391\u03b1)"));
+    }
+    private void check(String name, IntPredicate predicate)
+    {
+        int[] table = UnicodeTables.table(name, predicate);
+        for (int ii=2;ii<table.length;ii+=2)
+        {
+            assertTrue(name, table[ii-1] < table[ii]);
+        }
+        for (int cp=0;cp<=Character.MAX_VALUE;cp++)
+        {
+            assertEquals(name+" "+cp, predicate.test(cp), UnicodeTables.contains(table, cp));
+        }
+    }
+}